@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Mede o tempo até a primeira requisição respondida (GET /patios) em cada forma de subir a API
+# e grava a tabela em target/startup-report.txt. Roda no perfil Maven "startup" (fase verify)
+# ou direto: scripts/relatorio-startup.sh [diretorio-target]
+set -euo pipefail
+
+TARGET=${1:-target}
+JAVA=${JAVA:-java}
+PORTA=${PORTA:-8099}
+JAR=$(ls "$TARGET"/*-SNAPSHOT.jar "$TARGET"/*.jar 2>/dev/null | grep -v original | head -1)
+EXTRAIDO="$TARGET/extracted/$(basename "$JAR")"
+CDS="$TARGET/extracted/application.jsa"
+RELATORIO="$TARGET/startup-report.txt"
+
+medir() {
+    local nome=$1; shift
+    local log="$TARGET/startup-$nome.log"
+    local inicio=$(date +%s%N)
+    "$JAVA" "$@" --server.port="$PORTA" > "$log" 2>&1 &
+    local pid=$!
+    local ms=""
+    for _ in $(seq 1 1200); do
+        if curl -sf -o /dev/null "http://localhost:$PORTA/patios"; then
+            ms=$(( ($(date +%s%N) - inicio) / 1000000 ))
+            break
+        fi
+        kill -0 "$pid" 2>/dev/null || break
+        sleep 0.05
+    done
+    local rss=$(ps -o rss= -p "$pid" 2>/dev/null | tr -d ' ')
+    local started=$(grep -o 'Started App in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' || true)
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    printf '| %-24s | %11s | %11s | %8s |\n' "$nome" "${started:--}" "${ms:-falhou}" "$(( ${rss:-0} / 1024 ))" >> "$RELATORIO"
+}
+
+{
+    echo "Startup da SmartParker API ($(date -u +%Y-%m-%dT%H:%M:%SZ), $("$JAVA" -version 2>&1 | head -1))"
+    echo
+    printf '| %-24s | %11s | %11s | %8s |\n' "modo" "Started (s)" "1a req (ms)" "RSS (MB)"
+    printf '|%s|%s|%s|%s|\n' "--------------------------" "-------------" "-------------" "----------"
+} > "$RELATORIO"
+
+medir "fat-jar" -jar "$JAR"
+medir "extraido" -jar "$EXTRAIDO"
+if [ -f "$CDS" ]; then
+    medir "extraido+cds" -XX:SharedArchiveFile="$CDS" -jar "$EXTRAIDO"
+    medir "extraido+cds+producao" -XX:SharedArchiveFile="$CDS" -jar "$EXTRAIDO" --spring.profiles.active=producao
+fi
+
+cat "$RELATORIO"
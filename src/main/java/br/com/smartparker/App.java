@@ -3,12 +3,16 @@ package br.com.smartparker;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
 
 @SpringBootApplication
-@EnableCaching
+// Cache por fora da transação: hit não abre transação e @CachePut só grava após o commit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
 @OpenAPIDefinition(info = @Info(title = "Sistema de motos SmartParker", description = "CRUD da SmartParker com métodos pensados em facilitar o gerenciamento de veículos nos pátios."))
 public class App {
 
@@ -0,0 +1,157 @@
+package br.com.smartparker.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Índice reverso entidade → entradas de cache que a embutem. Quando uma moto,
+ * setor ou pátio muda, só as entradas (por ID ou páginas) que carregam aquela
+ * entidade são removidas, em qualquer cache.
+ *
+ * Um pátio aparece dentro do SetorDTO, que por sua vez aparece dentro da
+ * localização; por isso as referências de uma localização incluem o pátio do
+ * setor sempre que ele vem preenchido.
+ *
+ * Cada invalidação também carimba a entidade com um número de sequência. Uma
+ * leitura que carregou o valor antes desse carimbo e só termina depois da
+ * invalidação não fica no cache (ver {@link DependencyTrackingCache#get(Object, java.util.concurrent.Callable)}).
+ * Um carimbo só interessa a cargas iniciadas antes dele; os que nenhuma carga em
+ * andamento pode mais consultar são podados.
+ */
+public class CacheDependencyIndex {
+
+    private final Map<String, DependencyTrackingCache> caches = new ConcurrentHashMap<>();
+
+    private final Map<EntityRef, Set<Entrada>> dependentes = new ConcurrentHashMap<>();
+
+    private final Map<Entrada, Set<EntityRef>> referenciasPorEntrada = new ConcurrentHashMap<>();
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    // Poda a cada tantas invalidações, para não varrer o mapa em todas
+    private static final int INTERVALO_PODA = 64;
+
+    // Entidade alterada → sequência da última invalidação, enquanto alguma carga puder consultar
+    private final Map<EntityRef, Long> invalidadaEm = new ConcurrentHashMap<>();
+
+    // Versão de início → número de cargas em andamento que começaram nela
+    private final ConcurrentSkipListMap<Long, Integer> cargas = new ConcurrentSkipListMap<>();
+
+    void registrarCache(DependencyTrackingCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    // A versão só vale se nenhuma invalidação passou entre a leitura e o registro;
+    // senão uma poda concorrente poderia ter levado um carimbo que a carga precisa
+    long iniciarCarga() {
+        while (true) {
+            long versao = sequencia.get();
+            cargas.merge(versao, 1, Integer::sum);
+            if (sequencia.get() == versao) {
+                return versao;
+            }
+            terminarCarga(versao);
+        }
+    }
+
+    void terminarCarga(long versao) {
+        cargas.computeIfPresent(versao, (v, quantidade) -> quantidade > 1 ? quantidade - 1 : null);
+    }
+
+    // Carimbos até a versão da carga mais antiga em andamento não mudam mais nenhuma decisão
+    void podar() {
+        long limite = sequencia.get();
+        Map.Entry<Long, Integer> maisAntiga = cargas.firstEntry();
+        if (maisAntiga != null) {
+            limite = Math.min(limite, maisAntiga.getKey());
+        }
+        long corte = limite;
+        invalidadaEm.values().removeIf(em -> em <= corte);
+    }
+
+    int carimbos() {
+        return invalidadaEm.size();
+    }
+
+    boolean invalidadaDesde(Set<EntityRef> referencias, long versao) {
+        for (EntityRef referencia : referencias) {
+            Long em = invalidadaEm.get(referencia);
+            if (em != null && em > versao) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Set<EntityRef> registrar(String cache, Object key, Object valor) {
+        Set<EntityRef> referencias = DependencyExtractor.referencias(valor);
+        registrar(cache, key, referencias);
+        return referencias;
+    }
+
+    void registrar(String cache, Object key, Set<EntityRef> referencias) {
+        if (referencias.isEmpty()) {
+            return;
+        }
+
+        Entrada entrada = new Entrada(cache, key);
+        referenciasPorEntrada.merge(entrada, referencias, (atuais, novas) -> {
+            Set<EntityRef> todas = ConcurrentHashMap.newKeySet();
+            todas.addAll(atuais);
+            todas.addAll(novas);
+            return todas;
+        });
+        referencias.forEach(referencia -> dependentes.compute(referencia, (r, entradas) -> {
+            Set<Entrada> atualizadas = entradas != null ? entradas : ConcurrentHashMap.newKeySet();
+            atualizadas.add(entrada);
+            return atualizadas;
+        }));
+    }
+
+    public void remover(String cache, Object key) {
+        DependencyTrackingCache alvo = caches.get(cache);
+        if (alvo != null && alvo.contem(key)) {
+            // A chave foi recolocada depois da remoção; as referências ainda valem
+            return;
+        }
+
+        Entrada entrada = new Entrada(cache, key);
+        Set<EntityRef> referencias = referenciasPorEntrada.remove(entrada);
+        if (referencias == null) {
+            return;
+        }
+        referencias.forEach(referencia -> dependentes.computeIfPresent(referencia, (r, entradas) -> {
+            entradas.remove(entrada);
+            return entradas.isEmpty() ? null : entradas;
+        }));
+    }
+
+    public void invalidar(CachedEntity tipo, Long id) {
+        EntityRef referencia = new EntityRef(tipo, id);
+        // Carimbo antes da remoção: um put concorrente ou vê o carimbo ou é removido abaixo
+        long carimbo = sequencia.incrementAndGet();
+        invalidadaEm.put(referencia, carimbo);
+        Set<Entrada> entradas = dependentes.remove(referencia);
+        if (entradas != null) {
+            entradas.forEach(entrada -> {
+                DependencyTrackingCache cache = caches.get(entrada.cache());
+                if (cache != null) {
+                    cache.evict(entrada.key());
+                }
+            });
+        }
+        if (carimbo % INTERVALO_PODA == 0) {
+            podar();
+        }
+    }
+
+    public int tamanho() {
+        return referenciasPorEntrada.size();
+    }
+
+    private record Entrada(String cache, Object key) {
+    }
+}
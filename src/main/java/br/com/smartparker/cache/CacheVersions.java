@@ -0,0 +1,41 @@
+package br.com.smartparker.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Versão das listagens de cada cache. As chaves de páginas carregam a versão
+ * atual, então uma escrita invalida só as páginas daquele cache incrementando
+ * o contador; as entradas antigas deixam de ser lidas e saem pelo TTL/limite
+ * do Caffeine. Entradas por ID usam o próprio ID como chave e são tratadas
+ * com @CachePut/@CacheEvict.
+ */
+@Component("cacheVersions")
+public class CacheVersions {
+
+    private final ConcurrentMap<String, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    public PaginaKey pagina(String cache, Object... parametros) {
+        return new PaginaKey(versao(cache), Arrays.asList(parametros));
+    }
+
+    public long versao(String cache) {
+        return contador(cache).get();
+    }
+
+    public void invalidarPaginas(String cache) {
+        contador(cache).incrementAndGet();
+    }
+
+    private AtomicLong contador(String cache) {
+        return versoes.computeIfAbsent(cache, nome -> new AtomicLong());
+    }
+
+    public record PaginaKey(long versao, List<Object> parametros) {
+    }
+}
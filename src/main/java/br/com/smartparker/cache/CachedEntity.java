@@ -0,0 +1,8 @@
+package br.com.smartparker.cache;
+
+// Entidades que aparecem embutidas em DTOs de outros caches
+public enum CachedEntity {
+    MOTO,
+    SETOR,
+    PATIO
+}
@@ -0,0 +1,62 @@
+package br.com.smartparker.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Página de listagem já serializada em JSON, como fica guardada no cache.
+ * Em vez de um PageImpl com Pageable, Sort e o grafo de DTOs, cada entrada é
+ * um único byte[] (gzip acima de smartparker.cache.compressao-minima) mais as
+ * entidades embutidas, que o {@link CacheDependencyIndex} usa para invalidar
+ * a entrada. Um hit é escrito direto na resposta pelo
+ * {@link CachedJsonHttpMessageConverter}, sem passar de novo pelo Jackson.
+ */
+@Schema(type = "object", description = "Página no formato do Spring Data (content, totalElements, number, size...)")
+public final class CachedJson {
+
+    private final byte[] corpo;
+
+    private final boolean gzip;
+
+    private final Set<EntityRef> referencias;
+
+    CachedJson(byte[] corpo, boolean gzip, Set<EntityRef> referencias) {
+        this.corpo = corpo;
+        this.gzip = gzip;
+        this.referencias = referencias;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    // Tamanho guardado, já compactado quando isGzip()
+    public int tamanho() {
+        return corpo.length;
+    }
+
+    public Set<EntityRef> referencias() {
+        return referencias;
+    }
+
+    // Bytes como estão no cache
+    public void escrever(OutputStream saida) throws IOException {
+        saida.write(corpo);
+    }
+
+    // JSON puro, para clientes que não aceitam gzip
+    public void escreverJson(OutputStream saida) throws IOException {
+        if (!gzip) {
+            saida.write(corpo);
+            return;
+        }
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            entrada.transferTo(saida);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.smartparker.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializa o valor de uma listagem com o mesmo ObjectMapper do Spring MVC,
+ * então o JSON servido do cache é idêntico ao que o Jackson escreveria na
+ * resposta. As referências são extraídas aqui, enquanto os DTOs ainda
+ * existem.
+ */
+public class CachedJsonFactory {
+
+    private final ObjectMapper objectMapper;
+
+    private final long compressaoMinima;
+
+    public CachedJsonFactory(ObjectMapper objectMapper, long compressaoMinima) {
+        this.objectMapper = objectMapper;
+        this.compressaoMinima = compressaoMinima;
+    }
+
+    public CachedJson criar(Object valor) {
+        Set<EntityRef> referencias = Set.copyOf(DependencyExtractor.referencias(valor));
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(valor);
+            if (json.length < compressaoMinima) {
+                return new CachedJson(json, false, referencias);
+            }
+            return new CachedJson(gzip(json), true, referencias);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao serializar a resposta", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        }
+        return saida.toByteArray();
+    }
+}
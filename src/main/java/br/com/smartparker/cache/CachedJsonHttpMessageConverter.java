@@ -0,0 +1,80 @@
+package br.com.smartparker.cache;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Escreve um {@link CachedJson} sem re-serializar. Entradas compactadas vão
+ * como estão (Content-Encoding: gzip) quando o cliente aceita gzip; para os
+ * demais são descompactadas na saída.
+ */
+public class CachedJsonHttpMessageConverter extends AbstractHttpMessageConverter<CachedJson> {
+
+    public CachedJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CachedJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected CachedJson readInternal(Class<? extends CachedJson> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CachedJson é só de saída", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(CachedJson json, MediaType contentType) {
+        // Com gzip o tamanho depende do Accept-Encoding, definido no writeInternal
+        return json.isGzip() ? null : (long) json.tamanho();
+    }
+
+    @Override
+    protected void writeInternal(CachedJson json, HttpOutputMessage outputMessage) throws IOException {
+        if (!json.isGzip()) {
+            json.escrever(outputMessage.getBody());
+            return;
+        }
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (aceitaGzip()) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            headers.setContentLength(json.tamanho());
+            json.escrever(outputMessage.getBody());
+        } else {
+            json.escreverJson(outputMessage.getBody());
+        }
+    }
+
+    private static boolean aceitaGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return false;
+        }
+        String aceitos = atributos.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (aceitos == null) {
+            return false;
+        }
+        for (String codificacao : aceitos.split(",")) {
+            String[] partes = codificacao.trim().split(";");
+            if (partes[0].trim().equalsIgnoreCase("gzip")) {
+                return partes.length == 1 || !partes[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
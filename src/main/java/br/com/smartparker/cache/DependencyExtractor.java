@@ -0,0 +1,62 @@
+package br.com.smartparker.cache;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import br.com.smartparker.dto.LocalizacaoMotoDTO;
+import br.com.smartparker.dto.MotoDTO;
+import br.com.smartparker.dto.PatioDTO;
+import br.com.smartparker.dto.SetorDTO;
+import br.com.smartparker.dto.UsuarioDTO;
+
+/**
+ * Descobre quais entidades estão embutidas num valor cacheado
+ * (moto → localização/usuário, pátio → setor → localização).
+ */
+public final class DependencyExtractor {
+
+    private DependencyExtractor() {
+    }
+
+    public static Set<EntityRef> referencias(Object valor) {
+        Set<EntityRef> referencias = new HashSet<>();
+        coletar(valor, referencias);
+        return referencias;
+    }
+
+    private static void coletar(Object valor, Set<EntityRef> referencias) {
+        if (valor instanceof CachedJson json) {
+            // Já extraídas na serialização
+            referencias.addAll(json.referencias());
+        } else if (valor instanceof Iterable<?> itens) {
+            // Page, Slice e listas
+            itens.forEach(item -> coletar(item, referencias));
+        } else if (valor instanceof LocalizacaoMotoDTO localizacao) {
+            moto(localizacao.getMoto(), referencias);
+            setor(localizacao.getSetor(), referencias);
+        } else if (valor instanceof UsuarioDTO usuario) {
+            moto(usuario.getMoto(), referencias);
+        } else if (valor instanceof SetorDTO setor) {
+            patio(setor.getPatio(), referencias);
+        }
+    }
+
+    private static void moto(MotoDTO moto, Set<EntityRef> referencias) {
+        if (moto != null && moto.getId() != null) {
+            referencias.add(new EntityRef(CachedEntity.MOTO, moto.getId()));
+        }
+    }
+
+    private static void setor(SetorDTO setor, Set<EntityRef> referencias) {
+        if (setor != null && setor.getId() != null) {
+            referencias.add(new EntityRef(CachedEntity.SETOR, setor.getId()));
+            patio(setor.getPatio(), referencias);
+        }
+    }
+
+    private static void patio(PatioDTO patio, Set<EntityRef> referencias) {
+        if (patio != null && patio.getId() != null) {
+            referencias.add(new EntityRef(CachedEntity.PATIO, patio.getId()));
+        }
+    }
+}
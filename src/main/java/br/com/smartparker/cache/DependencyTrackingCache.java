@@ -0,0 +1,117 @@
+package br.com.smartparker.cache;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.cache.Cache;
+
+/**
+ * Cache que registra no {@link CacheDependencyIndex} as entidades embutidas
+ * em cada valor gravado. A remoção do índice acontece pelo listener de
+ * remoção do Caffeine (ver CacheConfig), que cobre evict, TTL e tamanho.
+ *
+ * Os @Cacheable usam sync = true, então toda carga passa por
+ * {@link #get(Object, Callable)}: a versão do índice é tomada antes do loader
+ * e, se alguma entidade do valor foi invalidada depois disso, o valor foi lido
+ * antes do commit e sai do cache. O put só vem do @CachePut, com o valor da
+ * própria escrita.
+ */
+public class DependencyTrackingCache implements Cache {
+
+    private final Cache delegate;
+
+    private final CacheDependencyIndex dependencias;
+
+    public DependencyTrackingCache(Cache delegate, CacheDependencyIndex dependencias) {
+        this.delegate = delegate;
+        this.dependencias = dependencias;
+        dependencias.registrarCache(this);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long versao = dependencias.iniciarCarga();
+        try {
+            AtomicReference<Set<EntityRef>> carregadas = new AtomicReference<>();
+            T valor = delegate.get(key, () -> {
+                T carregado = valueLoader.call();
+                carregadas.set(dependencias.registrar(getName(), key, carregado));
+                return carregado;
+            });
+            if (carregadas.get() != null && obsoleto(carregadas.get(), versao)) {
+                descartar(key);
+            }
+            return valor;
+        } finally {
+            // Também quando o loader lança: a carga deixa de segurar os carimbos
+            dependencias.terminarCarga(versao);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        dependencias.registrar(getName(), key, value);
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        dependencias.registrar(getName(), key, value);
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    boolean contem(Object key) {
+        return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) getNativeCache()).asMap().containsKey(key);
+    }
+
+    // O listener de remoção também limpa o índice; aqui não depende dele
+    private void descartar(Object key) {
+        delegate.evict(key);
+        dependencias.remover(getName(), key);
+    }
+
+    private boolean obsoleto(Set<EntityRef> referencias, long versao) {
+        return !referencias.isEmpty() && dependencias.invalidadaDesde(referencias, versao);
+    }
+}
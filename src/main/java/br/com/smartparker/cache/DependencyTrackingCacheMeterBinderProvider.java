@@ -0,0 +1,24 @@
+package br.com.smartparker.cache;
+
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Métricas (cache.gets hit/miss, cache.evictions, cache.size) dos caches da
+ * aplicação. O provider padrão do Spring Boot só reconhece CaffeineCache, e
+ * aqui todo cache chega embrulhado no {@link DependencyTrackingCache}; as
+ * estatísticas vêm do Caffeine por baixo (recordStats no CacheConfig).
+ */
+public class DependencyTrackingCacheMeterBinderProvider implements CacheMeterBinderProvider<DependencyTrackingCache> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MeterBinder getMeterBinder(DependencyTrackingCache cache, Iterable<Tag> tags) {
+        return new CaffeineCacheMetrics<>((Cache<Object, Object>) cache.getNativeCache(), cache.getName(), tags);
+    }
+}
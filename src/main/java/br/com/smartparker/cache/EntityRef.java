@@ -0,0 +1,4 @@
+package br.com.smartparker.cache;
+
+public record EntityRef(CachedEntity tipo, Long id) {
+}
@@ -0,0 +1,152 @@
+package br.com.smartparker.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import br.com.smartparker.model.LocalizacaoMotoFilter;
+import br.com.smartparker.model.ModoBusca;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.PatioFilter;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.model.SetorFilter;
+import br.com.smartparker.model.UsuarioFilter;
+
+/**
+ * Chave das páginas de listagem: versão do cache (ver {@link CacheVersions}),
+ * filtro canônico, página normalizada e os demais parâmetros (contar).
+ *
+ * Os filtros de localização, setor e usuário chegam com entidades inteiras
+ * (Moto, Setor, Patio, todas @Data) ligadas pela query string; com a chave
+ * padrão cada lookup calculava hashCode/equals desses objetos e a entrada
+ * mantinha as entidades vivas. O filtro canônico guarda só o que as
+ * Specifications usam, no formato em que é comparado: IDs das entidades,
+ * texto em minúsculas onde a comparação ignora maiúsculas e o modo de busca
+ * efetivo (CONTEM quando omitido).
+ */
+public class ListagemKeyGenerator implements KeyGenerator {
+
+    private final CacheVersions cacheVersions;
+
+    private final Map<Method, String> caches = new ConcurrentHashMap<>();
+
+    public ListagemKeyGenerator(CacheVersions cacheVersions) {
+        this.cacheVersions = cacheVersions;
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        String cache = caches.computeIfAbsent(method, ListagemKeyGenerator::cache);
+        Object[] canonicos = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            canonicos[i] = canonico(params[i]);
+        }
+        return cacheVersions.pagina(cache, canonicos);
+    }
+
+    // A versão é por cache, então o nome vem do próprio @Cacheable do método
+    private static String cache(Method method) {
+        Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+        if (cacheable == null || cacheable.cacheNames().length != 1) {
+            throw new IllegalStateException("ListagemKeyGenerator exige @Cacheable com um único cache: " + method);
+        }
+        return cacheable.cacheNames()[0];
+    }
+
+    private static Object canonico(Object parametro) {
+        if (parametro instanceof Pageable pageable) {
+            return pagina(pageable);
+        } else if (parametro instanceof MotoFilter filtro) {
+            return new FiltroKey(MotoFilter.class, Arrays.asList(
+                    textual(filtro.nome(), filtro.modo()),
+                    textual(filtro.fabricante(), filtro.modo()),
+                    estruturado(filtro.placa() != null ? filtro.placa().toUpperCase(Locale.ROOT) : null, filtro.modo()),
+                    estruturado(filtro.status(), filtro.modo())));
+        } else if (parametro instanceof LocalizacaoMotoFilter filtro) {
+            return new FiltroKey(LocalizacaoMotoFilter.class, Arrays.asList(
+                    filtro.dataInicio(), filtro.dataFim(), id(filtro.moto()), id(filtro.setor())));
+        } else if (parametro instanceof SetorFilter filtro) {
+            return new FiltroKey(SetorFilter.class, Arrays.asList(
+                    textual(filtro.nome(), filtro.modo()), filtro.fileira(), filtro.vaga(), id(filtro.patio())));
+        } else if (parametro instanceof PatioFilter filtro) {
+            return new FiltroKey(PatioFilter.class, Arrays.asList(
+                    textual(filtro.nome(), filtro.modo()),
+                    textual(filtro.localizacao(), filtro.modo())));
+        } else if (parametro instanceof UsuarioFilter filtro) {
+            Moto moto = filtro.moto();
+            return new FiltroKey(UsuarioFilter.class, Arrays.asList(
+                    textual(filtro.nome(), filtro.modo()),
+                    estruturado(filtro.email() != null ? filtro.email().toLowerCase(Locale.ROOT) : null, filtro.modo()),
+                    estruturado(filtro.cpf(), filtro.modo()),
+                    id(moto),
+                    moto != null ? textual(moto.getNome(), filtro.modo()) : null,
+                    moto != null && moto.getPlaca() != null
+                            ? estruturado(moto.getPlaca().toUpperCase(Locale.ROOT), filtro.modo())
+                            : null));
+        }
+        return parametro;
+    }
+
+    private static Texto textual(String valor, ModoBusca modo) {
+        // Texto livre é sempre comparado com lower() na coluna
+        return valor != null ? new Texto(valor.toLowerCase(Locale.ROOT), modo != null ? modo : ModoBusca.CONTEM) : null;
+    }
+
+    // Sem modo, o campo estruturado também é "contém" sem diferenciar maiúsculas
+    private static Texto estruturado(String valor, ModoBusca modo) {
+        if (valor == null) {
+            return null;
+        }
+        ModoBusca efetivo = modo != null ? modo : ModoBusca.CONTEM;
+        return new Texto(efetivo == ModoBusca.CONTEM ? valor.toLowerCase(Locale.ROOT) : valor, efetivo);
+    }
+
+    private static Long id(Moto moto) {
+        return moto != null ? moto.getId() : null;
+    }
+
+    private static Long id(Setor setor) {
+        return setor != null ? setor.getId() : null;
+    }
+
+    private static Long id(Patio patio) {
+        return patio != null ? patio.getId() : null;
+    }
+
+    private static Pagina pagina(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new Pagina(-1, -1, ordem(pageable.getSort()));
+        }
+        return new Pagina(pageable.getPageNumber(), pageable.getPageSize(), ordem(pageable.getSort()));
+    }
+
+    // "nome:ASC,id:DESC"; ignoreCase e nulls só aparecem quando usados
+    private static String ordem(Sort sort) {
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + order.getDirection()
+                        + (order.isIgnoreCase() ? ":i" : "")
+                        + (order.getNullHandling() != Sort.NullHandling.NATIVE ? ":" + order.getNullHandling() : ""))
+                .collect(Collectors.joining(","));
+    }
+
+    record FiltroKey(Class<?> tipo, List<Object> campos) {
+    }
+
+    record Texto(String valor, ModoBusca modo) {
+    }
+
+    record Pagina(int numero, int tamanho, String ordem) {
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.smartparker.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import br.com.smartparker.cache.CacheDependencyIndex;
+import br.com.smartparker.cache.CacheVersions;
+import br.com.smartparker.cache.CachedJsonFactory;
+import br.com.smartparker.cache.CachedJsonHttpMessageConverter;
+import br.com.smartparker.cache.DependencyTrackingCache;
+import br.com.smartparker.cache.ListagemKeyGenerator;
+
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheDependencyIndex cacheDependencyIndex() {
+        return new CacheDependencyIndex();
+    }
+
+    // Chaves das listagens: @Cacheable(keyGenerator = "listagemKeyGenerator")
+    @Bean
+    public ListagemKeyGenerator listagemKeyGenerator(CacheVersions cacheVersions) {
+        return new ListagemKeyGenerator(cacheVersions);
+    }
+
+    @Bean
+    public CachedJsonFactory cachedJsonFactory(ObjectMapper objectMapper, CacheProperties properties) {
+        return new CachedJsonFactory(objectMapper, properties.compressaoMinima().toBytes());
+    }
+
+    // Beans de HttpMessageConverter entram na frente dos conversores padrão do Spring MVC
+    @Bean
+    public CachedJsonHttpMessageConverter cachedJsonHttpMessageConverter() {
+        return new CachedJsonHttpMessageConverter();
+    }
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties, CacheDependencyIndex dependencias) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+
+            // Caches não declarados no properties também ficam limitados pelo padrão
+            @Override
+            protected Cache<Object, Object> createNativeCaffeineCache(String nome) {
+                return builder(nome, properties.padrao(), dependencias).build();
+            }
+
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String nome, Cache<Object, Object> cache) {
+                return new DependencyTrackingCache(super.adaptCaffeineCache(nome, cache), dependencias);
+            }
+        };
+        cacheManager.setAllowNullValues(false);
+
+        properties.regioes().forEach((nome, regiao) -> cacheManager.registerCustomCache(nome,
+                builder(nome, regiao.herdando(properties.padrao()), dependencias).build()));
+
+        return cacheManager;
+    }
+
+    private Caffeine<Object, Object> builder(String nome, CacheProperties.Regiao regiao,
+            CacheDependencyIndex dependencias) {
+        // Caffeine usa W-TinyLFU para decidir o que sai quando o limite é atingido
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(regiao.maximumSize())
+                .recordStats()
+                .removalListener((key, value, causa) -> {
+                    if (causa != RemovalCause.REPLACED) {
+                        dependencias.remover(nome, key);
+                    }
+                });
+
+        if (regiao.expireAfterWrite() != null) {
+            builder.expireAfterWrite(regiao.expireAfterWrite());
+        }
+        if (regiao.expireAfterAccess() != null) {
+            builder.expireAfterAccess(regiao.expireAfterAccess());
+        }
+        return builder;
+    }
+
+}
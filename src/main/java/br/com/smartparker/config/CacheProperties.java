@@ -0,0 +1,40 @@
+package br.com.smartparker.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@ConfigurationProperties(prefix = "smartparker.cache")
+public record CacheProperties(Regiao padrao, Map<String, Regiao> regioes, DataSize compressaoMinima) {
+
+    private static final long TAMANHO_MAXIMO_PADRAO = 1_000L;
+
+    private static final DataSize COMPRESSAO_MINIMA_PADRAO = DataSize.ofKilobytes(2);
+
+    public CacheProperties {
+        if (padrao == null) {
+            padrao = new Regiao(null, null, null);
+        }
+        if (padrao.maximumSize() == null) {
+            padrao = new Regiao(TAMANHO_MAXIMO_PADRAO, padrao.expireAfterWrite(), padrao.expireAfterAccess());
+        }
+        regioes = regioes == null ? Map.of() : Map.copyOf(regioes);
+        // Listagens serializadas a partir desse tamanho ficam em gzip no cache
+        if (compressaoMinima == null) {
+            compressaoMinima = COMPRESSAO_MINIMA_PADRAO;
+        }
+    }
+
+    // Limites de uma região de cache; campos nulos herdam do padrão
+    public record Regiao(Long maximumSize, Duration expireAfterWrite, Duration expireAfterAccess) {
+
+        public Regiao herdando(Regiao padrao) {
+            return new Regiao(
+                    maximumSize != null ? maximumSize : padrao.maximumSize(),
+                    expireAfterWrite != null ? expireAfterWrite : padrao.expireAfterWrite(),
+                    expireAfterAccess != null ? expireAfterAccess : padrao.expireAfterAccess());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.smartparker.config;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.smartparker.cache.DependencyTrackingCacheMeterBinderProvider;
+import io.micrometer.core.instrument.Tags;
+
+// Timers de endpoint (http.server.requests) e de repositório (spring.data.repository.invocations) e as
+// estatísticas do Hibernate vêm do auto-configure do Actuator; ver management.* no application.properties
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public DependencyTrackingCacheMeterBinderProvider dependencyTrackingCacheMeterBinderProvider() {
+        return new DependencyTrackingCacheMeterBinderProvider();
+    }
+
+    // A tag "method" leva os tipos dos parâmetros: findAll() do startup e findAll(Specification,Pageable)
+    // das listagens são caminhos bem diferentes e não podem cair na mesma série
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider padrao = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(padrao.repositoryTags(invocation))
+                .and("method", assinatura(invocation.getMethod()));
+    }
+
+    private static String assinatura(Method metodo) {
+        return Arrays.stream(metodo.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", metodo.getName() + "(", ")"));
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.smartparker.config;
+
+import java.util.List;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import br.com.smartparker.dto.CacheStatsDTO;
+import br.com.smartparker.dto.EventoPatioDTO;
+import br.com.smartparker.dto.IngestaoRecebidaDTO;
+import br.com.smartparker.dto.IngestaoStatusDTO;
+import br.com.smartparker.dto.JanelaDTO;
+import br.com.smartparker.dto.LocalizacaoLoteItemDTO;
+import br.com.smartparker.dto.LocalizacaoLoteResultadoDTO;
+import br.com.smartparker.dto.LocalizacaoMotoDTO;
+import br.com.smartparker.dto.MotoDTO;
+import br.com.smartparker.dto.MovimentacaoMotoDTO;
+import br.com.smartparker.dto.OcupacaoFileiraDTO;
+import br.com.smartparker.dto.OcupacaoPatioDTO;
+import br.com.smartparker.dto.PatioDTO;
+import br.com.smartparker.dto.SetorDTO;
+import br.com.smartparker.dto.UsuarioDTO;
+import br.com.smartparker.dto.VagaLivreDTO;
+import br.com.smartparker.model.LeituraRejeitada;
+import br.com.smartparker.model.LeituraRejeitada_;
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.LocalizacaoMotoFilter;
+import br.com.smartparker.model.LocalizacaoMoto_;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.model.Moto_;
+import br.com.smartparker.model.MovimentacaoMoto;
+import br.com.smartparker.model.MovimentacaoMotoFilter;
+import br.com.smartparker.model.MovimentacaoMoto_;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.PatioFilter;
+import br.com.smartparker.model.Patio_;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.model.SetorFilter;
+import br.com.smartparker.model.Setor_;
+import br.com.smartparker.model.Usuario;
+import br.com.smartparker.model.UsuarioFilter;
+import br.com.smartparker.model.Usuario_;
+import br.com.smartparker.repository.LocalizacaoMotoProjecao;
+
+/**
+ * Metadados de reflexão para a imagem nativa (perfil Maven "native"). O AOT do
+ * Spring já cobre o que ele enxerga (beans, repositórios, entidades
+ * gerenciadas, tipos de @RequestBody/retorno dos controllers); aqui entra o
+ * que é resolvido por reflexão fora desse caminho. O código gerado pelo
+ * Lombok é bytecode comum e os lambdas das Specifications são invokedynamic,
+ * nenhum dos dois precisa de metadado, mas as entidades são registradas
+ * inteiras para o Hibernate e o Jackson acharem os métodos gerados.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(RuntimeHintsConfig.Hints.class)
+public class RuntimeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        private static final List<Class<?>> ENTIDADES = List.of(
+                Moto.class, Setor.class, Patio.class, Usuario.class, LocalizacaoMoto.class, MovimentacaoMoto.class,
+                LeituraRejeitada.class);
+
+        // O Hibernate preenche os campos estáticos do metamodelo (Moto_.placa...) por reflexão no boot
+        private static final List<Class<?>> METAMODELO = List.of(
+                Moto_.class, Setor_.class, Patio_.class, Usuario_.class, LocalizacaoMoto_.class, MovimentacaoMoto_.class,
+                LeituraRejeitada_.class);
+
+        // Serializados/desserializados pelo Jackson (respostas, corpo das requisições, cache) ou ligados por query string
+        private static final List<Class<?>> BINDING = List.of(
+                MotoDTO.class, SetorDTO.class, PatioDTO.class, UsuarioDTO.class, LocalizacaoMotoDTO.class,
+                MovimentacaoMotoDTO.class, LocalizacaoLoteItemDTO.class, LocalizacaoLoteResultadoDTO.class,
+                OcupacaoPatioDTO.class, OcupacaoFileiraDTO.class, VagaLivreDTO.class, CacheStatsDTO.class,
+                JanelaDTO.class, EventoPatioDTO.class, IngestaoRecebidaDTO.class, IngestaoStatusDTO.class,
+                MotoFilter.class, SetorFilter.class, PatioFilter.class, UsuarioFilter.class,
+                LocalizacaoMotoFilter.class, MovimentacaoMotoFilter.class);
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // 1. Entidades JPA, com os getters/setters/builders do Lombok
+            ENTIDADES.forEach(tipo -> hints.reflection().registerType(tipo,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS));
+
+            // 2. Metamodelo estático
+            METAMODELO.forEach(tipo -> hints.reflection().registerType(tipo, MemberCategory.DECLARED_FIELDS));
+
+            // 3. Projeção montada pelo Hibernate com cb.construct(...)
+            hints.reflection().registerType(LocalizacaoMotoProjecao.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+            // 4. DTOs e filtros
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    BINDING.toArray(Class<?>[]::new));
+
+            // 5. Migrations específicas de banco (db/migration já vem do auto-configure do Flyway)
+            hints.resources().registerPattern("db/vendor/*/*.sql");
+
+            // 6. Regiões do cache de segundo nível (lido pelo provider JCache do Caffeine)
+            hints.resources().registerPattern("application.conf");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.smartparker.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.com.smartparker.dto.CacheStatsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+
+@RestController
+@RequestMapping("/caches")
+public class CacheController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // 1. Read
+    @GetMapping
+    @Operation(summary = "Estatísticas dos caches", description = "Lista hits, misses e evictions de cada cache da aplicação", tags = "Cache")
+    public List<CacheStatsDTO> index() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(nome -> toDTO(nome, (Cache<?, ?>) cacheManager.getCache(nome).getNativeCache()))
+                .toList();
+    }
+
+    private CacheStatsDTO toDTO(String nome, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(
+                nome,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
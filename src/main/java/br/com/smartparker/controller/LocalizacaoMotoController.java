@@ -1,14 +1,14 @@
 package br.com.smartparker.controller;
 
-import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,21 +16,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.smartparker.cache.CachedJson;
+import br.com.smartparker.dto.IngestaoRecebidaDTO;
+import br.com.smartparker.dto.IngestaoStatusDTO;
+import br.com.smartparker.dto.JanelaDTO;
+import br.com.smartparker.dto.LocalizacaoLoteItemDTO;
+import br.com.smartparker.dto.LocalizacaoLoteResultadoDTO;
 import br.com.smartparker.dto.LocalizacaoMotoDTO;
-import br.com.smartparker.dto.MotoDTO;
-import br.com.smartparker.dto.SetorDTO;
-import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.FormatoExportacao;
 import br.com.smartparker.model.LocalizacaoMotoFilter;
-import br.com.smartparker.model.Moto;
-import br.com.smartparker.model.Setor;
-import br.com.smartparker.repository.LocalizacaoMotoRepository;
-import br.com.smartparker.repository.MotoRepository;
-import br.com.smartparker.repository.SetorRepository;
-import br.com.smartparker.specification.LocalizacaoMotoSpecification;
+import br.com.smartparker.pagination.Cursores;
+import br.com.smartparker.service.IngestaoLeiturasService;
+import br.com.smartparker.service.LocalizacaoMotoLoteService;
+import br.com.smartparker.service.LocalizacaoMotoService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 
@@ -38,122 +42,129 @@ import jakarta.validation.Valid;
 @RequestMapping("/localizacoes")
 public class LocalizacaoMotoController {
 
+    private static final int TAMANHO_MAXIMO_LOTE = 1000;
+
     @Autowired
-    private LocalizacaoMotoRepository repository;
-    
+    private LocalizacaoMotoService service;
+
     @Autowired
-    private MotoRepository motoRepository;
-    
+    private LocalizacaoMotoLoteService loteService;
+
     @Autowired
-    private SetorRepository setorRepository;
+    private IngestaoLeiturasService ingestaoService;
 
     // 1. Read
     @GetMapping
-    @Cacheable(value = "localizacoes")
-    @Operation(summary = "Listar todas as localizações", description = "Lista todas as localizações cadastradas com filtros", tags = "LocalizacaoMoto")
-    public Page<LocalizacaoMotoDTO> index(LocalizacaoMotoFilter filter,
-            @PageableDefault(size = 5, sort = "dataAtualizada") Pageable pageable) {
-        return repository.findAll(LocalizacaoMotoSpecification.withFilters(filter), pageable).map(this::toDTO);
+    @Operation(summary = "Listar todas as localizações", description = "Lista todas as localizações cadastradas com filtros; com contar=false não calcula o total", tags = "LocalizacaoMoto")
+    public CachedJson index(LocalizacaoMotoFilter filter,
+            @PageableDefault(size = 5, sort = "dataAtualizada") Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean contar) {
+        return service.listar(filter, pageable, contar);
     }
 
-    // 1.1 Read {id}
+    // 1.1 Read cursor
+    @GetMapping("cursor")
+    @Operation(summary = "Listar localizações por cursor", description = "Lista localizações ordenadas por data de atualização e ID a partir do cursor da página anterior, sem OFFSET nem total", tags = "LocalizacaoMoto")
+    public JanelaDTO<LocalizacaoMotoDTO> cursor(LocalizacaoMotoFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Cursores.TAMANHO_PADRAO) int tamanho) {
+        return service.listarPorCursor(filter, cursor, tamanho);
+    }
+
+    // 1.2 Read exportar
+    @GetMapping("exportar")
+    @Operation(summary = "Exportar localizações", description = "Exporta todas as localizações filtradas, com moto e setor, em NDJSON ou CSV, em streaming", tags = "LocalizacaoMoto")
+    public ResponseEntity<StreamingResponseBody> exportar(LocalizacaoMotoFilter filter,
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"localizacoes." + formato.getExtensao() + "\"")
+                .body(service.exportar(filter, formato));
+    }
+
+    // 1.3 Read {id}
     @GetMapping("{id}")
-    @Cacheable(value = "localizacoes")
     @Operation(summary = "Listar localização pelo ID", description = "Lista a localização com ID correspondente à requisição", tags = "LocalizacaoMoto")
     public LocalizacaoMotoDTO get(@PathVariable Long id) {
-        return repository.findById(id).map(this::toDTO)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada."));
+        return service.buscar(id);
     }
 
-    // 1.2 Read detalhes/{motoId}
+    // 1.4 Read detalhes/{motoId}
     @GetMapping("detalhes/{motoId}")
-    @Cacheable(value = "localizacoes")
     @Operation(summary = "Detalhes da localização", description = "Exibe detalhes da localização, incluindo moto, setor e horário", tags = "LocalizacaoMoto")
     public String detalhesPorMotoIdString(@PathVariable Long motoId) {
-        return repository.findByMotoId(motoId)
-                .map(localizacao -> String.format(
-                        "Moto: %s (Placa: %s), Setor: %s (Fileira: %d, Vaga: %d), Atualizado em: %s",
-                        localizacao.getMoto().getNome(),
-                        localizacao.getMoto().getPlaca(),
-                        localizacao.getSetor().getNome(),
-                        localizacao.getSetor().getFileira(),
-                        localizacao.getSetor().getVaga(),
-                        localizacao.getDataAtualizada()))
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada para a moto com ID " + motoId));
+        return service.detalhes(motoId);
+    }
+
+    // 1.5 Read placa/{placa}
+    @GetMapping("placa/{placa}")
+    @Operation(summary = "Localização pela placa", description = "Busca a posição atual da moto pela placa", tags = "LocalizacaoMoto")
+    public LocalizacaoMotoDTO porPlaca(@PathVariable String placa) {
+        return service.buscarPorPlaca(placa);
+    }
+
+    // 1.6 Read qrcode/{qrCode}
+    @GetMapping("qrcode/{qrCode}")
+    @Operation(summary = "Localização pelo QR code", description = "Busca a posição atual da moto pelo QR code lido no pátio", tags = "LocalizacaoMoto")
+    public LocalizacaoMotoDTO porQrCode(@PathVariable String qrCode) {
+        return service.buscarPorQrCode(qrCode);
+    }
+
+    // 1.7 Read leituras/status
+    @GetMapping("leituras/status")
+    @Operation(summary = "Status da ingestão de leituras", description = "Leituras recebidas, gravadas, rejeitadas e pendentes da ingestão assíncrona, com o horário do último commit", tags = "LocalizacaoMoto")
+    public IngestaoStatusDTO statusLeituras() {
+        return ingestaoService.status();
     }
 
     // 2. Create
     @PostMapping
-    @CacheEvict(value = "localizacoes", allEntries = true)
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Criar nova localização", description = "Criar localização de acordo com JSON enviado", tags = "LocalizacaoMoto")
     public LocalizacaoMotoDTO create(@RequestBody @Valid LocalizacaoMotoDTO localizacaoMotoDTO) {
-        Moto moto = motoRepository.findById(localizacaoMotoDTO.getMoto().getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
-        Setor setor = setorRepository.findById(localizacaoMotoDTO.getSetor().getId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Setor não encontrado."));
-
-        LocalizacaoMoto localizacaoMoto = toEntity(localizacaoMotoDTO);
-        localizacaoMoto.setMoto(moto);
-        localizacaoMoto.setSetor(setor);
-        localizacaoMoto.setDataAtualizada(LocalDateTime.now());
-        return toDTO(repository.save(localizacaoMoto));
+        return service.criar(localizacaoMotoDTO);
+    }
+
+    // 2.1 Create lote
+    @PostMapping("lote")
+    @Operation(summary = "Check-in em lote", description = "Cria ou move localizações de várias motos de uma vez, com resultado por item. lidaEm (opcional) é o horário da leitura; uma leitura anterior à posição atual da moto é ignorada", tags = "LocalizacaoMoto")
+    public List<LocalizacaoLoteResultadoDTO> createLote(@RequestBody List<LocalizacaoLoteItemDTO> itens) {
+        if (itens.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O lote pode ter no máximo " + TAMANHO_MAXIMO_LOTE + " itens.");
+        }
+        return loteService.aplicar(itens);
+    }
+
+    // 2.2 Create leituras
+    @PostMapping("leituras")
+    @Operation(summary = "Ingestão de leituras de QR code", description = "Aceita leituras (moto e setor) numa fila e responde 202 sem esperar a gravação, feita em lotes na ordem de chegada de cada moto e com o horário da leitura (lidaEm, ou o do recebimento); leituras recusadas por fila cheia (e as seguintes da mesma moto) voltam na resposta com o horário da leitura", tags = "LocalizacaoMoto")
+    public ResponseEntity<IngestaoRecebidaDTO> createLeituras(@RequestBody List<LocalizacaoLoteItemDTO> leituras) {
+        if (leituras.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O lote pode ter no máximo " + TAMANHO_MAXIMO_LOTE + " itens.");
+        }
+        if (leituras.stream().anyMatch(leitura -> leitura.getMotoId() == null || leitura.getSetorId() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Toda leitura precisa de motoId e setorId.");
+        }
+        IngestaoRecebidaDTO recebida = ingestaoService.receber(leituras);
+        if (recebida.getAceitas() == 0 && !leituras.isEmpty()) {
+            // Nada coube na fila: o leitor tenta de novo em instantes
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(recebida);
+        }
+        return ResponseEntity.accepted().body(recebida);
     }
 
     // 3. Update
     @PutMapping("{id}")
-    @CacheEvict(value = "localizacoes", allEntries = true)
     @Operation(summary = "Atualizar localização", description = "Atualiza localização de acordo com ID e valores que precisam ser atualizados", tags = "LocalizacaoMoto")
     public LocalizacaoMotoDTO update(@PathVariable Long id, @RequestBody @Valid LocalizacaoMotoDTO localizacaoMotoDTO) {
-        return repository.findById(id).map(existing -> {
-            Moto moto = motoRepository.findById(localizacaoMotoDTO.getMoto().getId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
-            Setor setor = setorRepository.findById(localizacaoMotoDTO.getSetor().getId())
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Setor não encontrado."));
-
-            existing.setMoto(moto);
-            existing.setSetor(setor);
-            existing.setDataAtualizada(LocalDateTime.now());
-            return toDTO(repository.save(existing));
-        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada."));
+        return service.atualizar(id, localizacaoMotoDTO);
     }
 
     // 4. Delete
     @DeleteMapping("{id}")
-    @CacheEvict(value = "localizacoes", allEntries = true)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Deletar localização", description = "Deleta localização com o ID escolhido", tags = "LocalizacaoMoto")
     public void delete(@PathVariable Long id) {
-        repository.deleteById(id);
-    }
-
-    private LocalizacaoMotoDTO toDTO(LocalizacaoMoto localizacaoMoto) {
-        return new LocalizacaoMotoDTO(
-                localizacaoMoto.getId(),
-                localizacaoMoto.getDataAtualizada(),
-                new MotoDTO(
-                        localizacaoMoto.getMoto().getId(),
-                        localizacaoMoto.getMoto().getNome(),
-                        localizacaoMoto.getMoto().getFabricante(),
-                        localizacaoMoto.getMoto().getCilindrada(),
-                        localizacaoMoto.getMoto().getPlaca(),
-                        localizacaoMoto.getMoto().getStatus(),
-                        localizacaoMoto.getMoto().getQrCode()
-                ),
-                new SetorDTO(
-                        localizacaoMoto.getSetor().getId(),
-                        localizacaoMoto.getSetor().getNome(),
-                        localizacaoMoto.getSetor().getFileira(),
-                        localizacaoMoto.getSetor().getVaga(),
-                        null
-                )
-        );
-    }
-
-    private LocalizacaoMoto toEntity(LocalizacaoMotoDTO localizacaoMotoDTO) {
-        return LocalizacaoMoto.builder()
-                .id(localizacaoMotoDTO.getId())
-                .dataAtualizada(localizacaoMotoDTO.getDataAtualizada())
-                .build();
+        service.excluir(id);
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,12 @@
 package br.com.smartparker.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,15 +14,18 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import br.com.smartparker.cache.CachedJson;
+import br.com.smartparker.dto.JanelaDTO;
 import br.com.smartparker.dto.MotoDTO;
-import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.FormatoExportacao;
 import br.com.smartparker.model.MotoFilter;
-import br.com.smartparker.repository.MotoRepository;
-import br.com.smartparker.specification.MotoSpecification;
+import br.com.smartparker.pagination.Cursores;
+import br.com.smartparker.service.MotoService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -33,82 +36,64 @@ import lombok.extern.slf4j.Slf4j;
 public class MotoController {
 
     @Autowired
-    private MotoRepository repository;
+    private MotoService service;
 
     // 1.Read
     @GetMapping
-    @Cacheable(value = "motos")
-    @Operation(summary = "Listar todas motos", description = "Lista todas as motos cadastradas", tags = "Moto")
-    public Page<MotoDTO> index(MotoFilter filter,
-            @PageableDefault(size = 5, sort = "nome") Pageable pageable) {
-        return repository.findAll(MotoSpecification.withFilters(filter), pageable).map(this::toDTO);
+    @Operation(summary = "Listar todas motos", description = "Lista todas as motos cadastradas; com contar=false não calcula o total", tags = "Moto")
+    public CachedJson index(MotoFilter filter,
+            @PageableDefault(size = 5, sort = "nome") Pageable pageable,
+            @RequestParam(defaultValue = "true") boolean contar) {
+        return service.listar(filter, pageable, contar);
     }
 
-    // 1.1 Read {id}
+    // 1.1 Read cursor
+    @GetMapping("cursor")
+    @Operation(summary = "Listar motos por cursor", description = "Lista motos ordenadas por nome e ID a partir do cursor da página anterior, sem OFFSET nem total", tags = "Moto")
+    public JanelaDTO<MotoDTO> cursor(MotoFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + Cursores.TAMANHO_PADRAO) int tamanho) {
+        return service.listarPorCursor(filter, cursor, tamanho);
+    }
+
+    // 1.2 Read exportar
+    @GetMapping("exportar")
+    @Operation(summary = "Exportar motos", description = "Exporta todas as motos filtradas em NDJSON ou CSV, em streaming", tags = "Moto")
+    public ResponseEntity<StreamingResponseBody> exportar(MotoFilter filter,
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"motos." + formato.getExtensao() + "\"")
+                .body(service.exportar(filter, formato));
+    }
+
+    // 1.3 Read {id}
     @GetMapping("{id}")
-    @Cacheable(value = "motos")
     @Operation(summary = "Buscar moto por ID", description = "Busca uma moto específica pelo ID fornecido", tags = "Moto")
     public MotoDTO get(@PathVariable Long id) {
-        return repository.findById(id).map(this::toDTO)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
+        return service.buscar(id);
     }
 
     // 2.Create
     @PostMapping
-    @CacheEvict(value = "motos", allEntries = true)
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Criar nova moto", description = "Cria uma nova moto com os dados fornecidos no corpo da requisição", tags = "Moto")
     public MotoDTO create(@RequestBody @Valid MotoDTO motoDTO) {
-        Moto moto = toEntity(motoDTO);
-        return toDTO(repository.save(moto));
+        return service.criar(motoDTO);
     }
 
     // 3.Update
     @PutMapping("{id}")
-    @CacheEvict(value = "motos", allEntries = true)
     @Operation(summary = "Atualizar moto", description = "Atualiza moto de acordo com ID e valores que precisam ser atualizados", tags = "Moto")
     public MotoDTO update(@PathVariable Long id, @RequestBody @Valid MotoDTO motoDTO) {
-        return repository.findById(id).map(existing -> {
-            existing.setNome(motoDTO.getNome());
-            existing.setFabricante(motoDTO.getFabricante());
-            existing.setCilindrada(motoDTO.getCilindrada());
-            existing.setPlaca(motoDTO.getPlaca());
-            existing.setStatus(motoDTO.getStatus());
-            existing.setQrCode(motoDTO.getQrCode());
-            return toDTO(repository.save(existing));
-        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
+        return service.atualizar(id, motoDTO);
     }
 
     // 4.Delete
     @DeleteMapping("{id}")
-    @CacheEvict(value = "motos", allEntries = true)
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(summary = "Excluir moto", description = "Exclui uma moto existente com base no ID fornecido", tags = "Moto")
     public void delete(@PathVariable Long id) {
-        repository.deleteById(id);
-    }
-
-    private MotoDTO toDTO(Moto moto) {
-        return new MotoDTO(
-                moto.getId(),
-                moto.getNome(),
-                moto.getFabricante(),
-                moto.getCilindrada(),
-                moto.getPlaca(),
-                moto.getStatus(),
-                moto.getQrCode()
-        );
-    }
-
-    private Moto toEntity(MotoDTO motoDTO) {
-        return Moto.builder()
-                .id(motoDTO.getId())
-                .nome(motoDTO.getNome())
-                .fabricante(motoDTO.getFabricante())
-                .cilindrada(motoDTO.getCilindrada())
-                .placa(motoDTO.getPlaca())
-                .status(motoDTO.getStatus())
-                .qrCode(motoDTO.getQrCode())
-                .build();
+        service.excluir(id);
     }
 }
@@ -0,0 +1,45 @@
+package br.com.smartparker.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.smartparker.dto.MovimentacaoMotoDTO;
+import br.com.smartparker.eventos.MovimentacaoEventos;
+import br.com.smartparker.model.MovimentacaoMotoFilter;
+import br.com.smartparker.service.MovimentacaoMotoService;
+import io.swagger.v3.oas.annotations.Operation;
+
+@RestController
+@RequestMapping("/movimentacoes")
+public class MovimentacaoMotoController {
+
+    @Autowired
+    private MovimentacaoMotoService service;
+
+    @Autowired
+    private MovimentacaoEventos eventos;
+
+    // 1. Read
+    @GetMapping
+    @Operation(summary = "Histórico de movimentações", description = "Lista as movimentações das motos por intervalo de datas, moto, setor ou pátio", tags = "Movimentação")
+    public Page<MovimentacaoMotoDTO> index(MovimentacaoMotoFilter filter,
+            @PageableDefault(size = 50, sort = "dataMovimentacao", direction = Sort.Direction.DESC) Pageable pageable) {
+        return service.listar(filter, pageable);
+    }
+
+    // 1.1 Read stream
+    @GetMapping(path = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Movimentações em tempo real", description = "Server-Sent Events com as movimentações do pátio (ou de todos, sem patioId), agrupadas em janelas curtas com o último evento de cada moto; o id vem nulo porque o histórico é gravado em lote depois. Evento \"ressincronizar\" pede para recarregar pelo GET", tags = "Movimentação")
+    public SseEmitter stream(@RequestParam(required = false) Long patioId) {
+        return eventos.assinar(patioId);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.smartparker.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.smartparker.dto.OcupacaoFileiraDTO;
+import br.com.smartparker.dto.OcupacaoPatioDTO;
+import br.com.smartparker.dto.VagaLivreDTO;
+import br.com.smartparker.index.OcupacaoIndex;
+import io.swagger.v3.oas.annotations.Operation;
+
+@RestController
+@RequestMapping("/patios/{patioId}/ocupacao")
+public class OcupacaoController {
+
+    @Autowired
+    private OcupacaoIndex ocupacaoIndex;
+
+    // 1. Read
+    @GetMapping
+    @Operation(summary = "Ocupação do pátio", description = "Resumo de vagas totais, ocupadas e livres do pátio e de cada fileira", tags = "Ocupação")
+    public OcupacaoPatioDTO resumo(@PathVariable Long patioId) {
+        return ocupacaoIndex.resumo(patioId).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pátio sem setores cadastrados."));
+    }
+
+    // 1.1 Read livres
+    @GetMapping("livres")
+    @Operation(summary = "Vagas livres", description = "Lista as vagas livres do pátio, por fileira e vaga", tags = "Ocupação")
+    public List<VagaLivreDTO> vagasLivres(@PathVariable Long patioId) {
+        return ocupacaoIndex.vagasLivres(patioId).stream().map(this::toDTO).toList();
+    }
+
+    // 1.2 Read primeira-livre
+    @GetMapping("primeira-livre")
+    @Operation(summary = "Primeira vaga livre", description = "Retorna a primeira vaga livre do pátio, por fileira e vaga", tags = "Ocupação")
+    public VagaLivreDTO primeiraVagaLivre(@PathVariable Long patioId) {
+        return ocupacaoIndex.primeiraVagaLivre(patioId)
+                .map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhuma vaga livre no pátio."));
+    }
+
+    private VagaLivreDTO toDTO(OcupacaoIndex.VagaLivre vaga) {
+        return new VagaLivreDTO(vaga.setorId(), vaga.fileira(), vaga.vaga());
+    }
+
+    private OcupacaoPatioDTO toDTO(OcupacaoIndex.ResumoPatio resumo) {
+        return new OcupacaoPatioDTO(
+                resumo.patioId(),
+                resumo.totalVagas(),
+                resumo.ocupadas(),
+                resumo.totalVagas() - resumo.ocupadas(),
+                resumo.fileiras().stream()
+                        .map(fileira -> new OcupacaoFileiraDTO(
+                                fileira.fileira(),
+                                fileira.totalVagas(),
+                                fileira.ocupadas(),
+                                fileira.totalVagas() - fileira.ocupadas()))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.smartparker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private String nome;
+    private long tamanho;
+    private long hits;
+    private long misses;
+    private double hitRate;
+    private long evictions;
+}
@@ -0,0 +1,17 @@
+package br.com.smartparker.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoPatioDTO {
+    private Long patioId;
+    private LocalDateTime emitidoEm;
+    private List<MovimentacaoMotoDTO> movimentacoes;
+}
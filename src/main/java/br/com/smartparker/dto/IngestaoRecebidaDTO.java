@@ -0,0 +1,15 @@
+package br.com.smartparker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestaoRecebidaDTO {
+    private int aceitas;
+    private List<LocalizacaoLoteItemDTO> recusadas;
+}
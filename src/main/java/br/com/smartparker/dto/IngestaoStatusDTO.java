@@ -0,0 +1,22 @@
+package br.com.smartparker.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestaoStatusDTO {
+    private long recebidas;
+    private long aplicadas;
+    private long rejeitadas;
+    private long falhas;
+    private long lotes;
+    private int pendentes;
+    private List<Integer> pendentesPorParticao;
+    private LocalDateTime ultimoCommit;
+}
@@ -0,0 +1,17 @@
+package br.com.smartparker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JanelaDTO<T> {
+    private List<T> conteudo;
+    private int tamanho;
+    private boolean temMais;
+    private String proximoCursor;
+}
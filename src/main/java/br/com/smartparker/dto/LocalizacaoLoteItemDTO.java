@@ -0,0 +1,17 @@
+package br.com.smartparker.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocalizacaoLoteItemDTO {
+    private Long motoId;
+    private Long setorId;
+    // Horário da leitura no coletor; a ingestão preenche com o recebimento quando vier vazio
+    private LocalDateTime lidaEm;
+}
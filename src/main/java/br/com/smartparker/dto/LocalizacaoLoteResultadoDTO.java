@@ -0,0 +1,16 @@
+package br.com.smartparker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocalizacaoLoteResultadoDTO {
+    private Long motoId;
+    private Long setorId;
+    private boolean sucesso;
+    private Long localizacaoId;
+    private String erro;
+}
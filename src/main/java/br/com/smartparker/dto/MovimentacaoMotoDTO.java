@@ -0,0 +1,21 @@
+package br.com.smartparker.dto;
+
+import java.time.LocalDateTime;
+
+import br.com.smartparker.model.TipoMovimentacao;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimentacaoMotoDTO {
+    private Long id;
+    private LocalDateTime dataMovimentacao;
+    private TipoMovimentacao tipo;
+    private Long motoId;
+    private Long setorId;
+    private Long setorAnteriorId;
+    private Long patioId;
+}
@@ -0,0 +1,15 @@
+package br.com.smartparker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcupacaoFileiraDTO {
+    private int fileira;
+    private int totalVagas;
+    private int ocupadas;
+    private int livres;
+}
@@ -0,0 +1,18 @@
+package br.com.smartparker.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OcupacaoPatioDTO {
+    private Long patioId;
+    private int totalVagas;
+    private int ocupadas;
+    private int livres;
+    private List<OcupacaoFileiraDTO> fileiras;
+}
@@ -0,0 +1,14 @@
+package br.com.smartparker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VagaLivreDTO {
+    private Long setorId;
+    private int fileira;
+    private int vaga;
+}
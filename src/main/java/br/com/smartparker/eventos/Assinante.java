@@ -0,0 +1,148 @@
+package br.com.smartparker.eventos;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Conexão SSE de um painel. Cada assinante tem uma fila limitada e no máximo
+ * uma tarefa de envio no executor; quem enfileira nunca escreve no socket.
+ * Um assinante que fica para trás é desligado: sai da lista na hora, recebe
+ * só o aviso "ressincronizar" e a conexão é concluída (o EventSource reconecta
+ * e recarrega pelo GET).
+ */
+final class Assinante {
+
+    private final SseEmitter emitter;
+
+    private final Long patioId;
+
+    private final BlockingQueue<Mensagem> fila;
+
+    private final Executor executor;
+
+    private final AtomicBoolean enviando = new AtomicBoolean();
+
+    private final AtomicBoolean desligado = new AtomicBoolean();
+
+    // Só vira true depois que o aviso final já está na fila
+    private volatile boolean concluir;
+
+    private final Consumer<Assinante> aoEncerrar;
+
+    Assinante(SseEmitter emitter, Long patioId, int capacidade, Executor executor, Consumer<Assinante> aoEncerrar) {
+        this.emitter = emitter;
+        this.patioId = patioId;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.executor = executor;
+        this.aoEncerrar = aoEncerrar;
+    }
+
+    // Sem pátio informado, recebe todos
+    boolean recebe(Long patio) {
+        return patioId == null || patioId.equals(patio);
+    }
+
+    /**
+     * Retorna false quando a fila estava cheia e o assinante foi desligado.
+     */
+    boolean enfileirar(Mensagem mensagem) {
+        if (desligado.get()) {
+            return true;
+        }
+        if (!fila.offer(mensagem)) {
+            desligar();
+            return false;
+        }
+        agendar();
+        return true;
+    }
+
+    // Heartbeat só entra se houver espaço
+    void sinalizar() {
+        if (!desligado.get() && fila.offer(Mensagem.PING)) {
+            agendar();
+        }
+    }
+
+    void encerrar() {
+        emitter.complete();
+    }
+
+    private void desligar() {
+        if (!desligado.compareAndSet(false, true)) {
+            return;
+        }
+        aoEncerrar.accept(this);
+        fila.clear();
+        fila.offer(Mensagem.RESSINCRONIZAR);
+        concluir = true;
+        agendar();
+    }
+
+    private void agendar() {
+        if (!enviando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drenar);
+        } catch (RejectedExecutionException e) {
+            // Executor de envio saturado: não há como atender este cliente agora
+            enviando.set(false);
+            desligado.set(true);
+            fila.clear();
+            aoEncerrar.accept(this);
+            emitter.complete();
+        }
+    }
+
+    private void drenar() {
+        try {
+            enviarFila();
+            if (concluir) {
+                // O aviso pode ter entrado depois do último poll
+                enviarFila();
+                emitter.complete();
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou o emitter já foi concluído; o container notifica o erro sozinho
+            fila.clear();
+            desligado.set(true);
+            aoEncerrar.accept(this);
+            return;
+        } finally {
+            enviando.set(false);
+        }
+        // Algo pode ter entrado entre o último poll e a liberação da flag
+        if (!fila.isEmpty()) {
+            agendar();
+        }
+    }
+
+    private void enviarFila() throws IOException {
+        Mensagem mensagem;
+        while ((mensagem = fila.poll()) != null) {
+            if (mensagem.nome() == null) {
+                emitter.send(SseEmitter.event().comment(mensagem.dados()));
+            } else {
+                emitter.send(SseEmitter.event().name(mensagem.nome()).data(mensagem.dados(), MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    // nome null vira comentário SSE (heartbeat)
+    record Mensagem(String nome, String dados) {
+
+        static final Mensagem PING = new Mensagem(null, "ping");
+
+        static final Mensagem RESSINCRONIZAR = new Mensagem("ressincronizar", "{}");
+    }
+}
@@ -0,0 +1,182 @@
+package br.com.smartparker.eventos;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.smartparker.dto.EventoPatioDTO;
+import br.com.smartparker.dto.MovimentacaoMotoDTO;
+import br.com.smartparker.eventos.Assinante.Mensagem;
+import br.com.smartparker.model.MovimentacaoMoto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Barramento em memória das movimentações, entregues por SSE aos painéis do
+ * pátio no lugar do polling de GET /localizacoes.
+ *
+ * Quem escreve (o HistoricoMovimentacaoWriter, depois do commit) só guarda o
+ * evento no buffer do pátio, e só se houver alguém assinando. A cada janela o
+ * buffer é trocado, coalescido (fica o último evento de cada moto), serializado
+ * uma vez por pátio e colocado na fila de cada assinante. O envio roda no
+ * executor "sse-", então nem os escritores nem a janela esperam pela rede de
+ * um cliente lento. Esse executor é limitado (threads e fila) ou, no perfil
+ * virtual, uma virtual thread por envio; cliente que não acompanha é desligado.
+ */
+@Component
+public class MovimentacaoEventos {
+
+    private final Lock trava = new ReentrantLock();
+
+    // patioId -> motoId -> último evento da janela
+    private Map<Long, Map<Long, MovimentacaoMotoDTO>> pendentes = new HashMap<>();
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    private final Executor envio;
+
+    private final ObjectMapper objectMapper;
+
+    private final int capacidadeFila;
+
+    private final long timeout;
+
+    private final Counter ressincronizacoes;
+
+    public MovimentacaoEventos(ObjectMapper objectMapper, MeterRegistry registry, Environment environment,
+            @Value("${smartparker.eventos.capacidade-fila:32}") int capacidadeFila,
+            @Value("${smartparker.eventos.timeout:30m}") Duration timeout,
+            @Value("${smartparker.eventos.threads-envio:8}") int threadsEnvio,
+            @Value("${smartparker.eventos.fila-envio:1000}") int filaEnvio) {
+        this.objectMapper = objectMapper;
+        this.capacidadeFila = capacidadeFila;
+        this.timeout = timeout.toMillis();
+        this.envio = Threading.VIRTUAL.isActive(environment) ? virtuais() : limitado(threadsEnvio, filaEnvio);
+        Gauge.builder("smartparker.eventos.assinantes", assinantes, Set::size)
+                .description("Conexoes SSE abertas")
+                .register(registry);
+        this.ressincronizacoes = Counter.builder("smartparker.eventos.ressincronizacoes")
+                .description("Assinantes desligados por ficarem para tras")
+                .register(registry);
+    }
+
+    public SseEmitter assinar(Long patioId) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Assinante assinante = new Assinante(emitter, patioId, capacidadeFila, envio, assinantes::remove);
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onError(erro -> assinantes.remove(assinante));
+        // Concluir no timeout evita o AsyncRequestTimeoutException; o EventSource reconecta
+        emitter.onTimeout(emitter::complete);
+        assinantes.add(assinante);
+        return emitter;
+    }
+
+    public void publicar(MovimentacaoMoto movimentacao) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        MovimentacaoMotoDTO dto = new MovimentacaoMotoDTO(
+                movimentacao.getId(),
+                movimentacao.getDataMovimentacao(),
+                movimentacao.getTipo(),
+                movimentacao.getMotoId(),
+                movimentacao.getSetorId(),
+                movimentacao.getSetorAnteriorId(),
+                movimentacao.getPatioId());
+        trava.lock();
+        try {
+            pendentes.computeIfAbsent(dto.getPatioId(), p -> new LinkedHashMap<>()).put(dto.getMotoId(), dto);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${smartparker.eventos.janela:250}")
+    public void emitir() {
+        Map<Long, Map<Long, MovimentacaoMotoDTO>> janela;
+        trava.lock();
+        try {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            janela = pendentes;
+            pendentes = new HashMap<>();
+        } finally {
+            trava.unlock();
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        janela.forEach((patioId, porMoto) -> {
+            Mensagem mensagem = new Mensagem("movimentacoes",
+                    json(new EventoPatioDTO(patioId, agora, new ArrayList<>(porMoto.values()))));
+            for (Assinante assinante : assinantes) {
+                if (assinante.recebe(patioId) && !assinante.enfileirar(mensagem)) {
+                    ressincronizacoes.increment();
+                }
+            }
+        });
+    }
+
+    // Mantém a conexão viva atrás de proxies e descobre clientes que sumiram
+    @Scheduled(fixedRateString = "${smartparker.eventos.heartbeat:15000}")
+    public void heartbeat() {
+        assinantes.forEach(Assinante::sinalizar);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        assinantes.forEach(Assinante::encerrar);
+        if (envio instanceof ThreadPoolExecutor pool) {
+            pool.shutdown();
+        } else if (envio instanceof SimpleAsyncTaskExecutor virtual) {
+            virtual.close();
+        }
+    }
+
+    // Cada assinante tem no máximo uma tarefa na fila; fila cheia desliga o assinante (ver Assinante.agendar)
+    private static Executor limitado(int threads, int fila) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(fila), new CustomizableThreadFactory("sse-"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static Executor virtuais() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    private String json(EventoPatioDTO evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento do patio " + evento.getPatioId(), e);
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package br.com.smartparker.exception;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -13,12 +16,20 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import lombok.extern.slf4j.Slf4j;
+
+// O Spring marca a exceção tratada aqui na observação da requisição, então ela
+// aparece na tag "exception" de http.server.requests; o log fica para os 5xx
 @ControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
     // ResponseStatusException
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<Object> handleResponseStatusException(ResponseStatusException ex) {
+        if (ex.getStatusCode().is5xxServerError()) {
+            log.error("Erro {} na requisicao", ex.getStatusCode().value(), ex);
+        }
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
         body.put("status", ex.getStatusCode().value());
@@ -42,14 +53,29 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
-    // Exceções genéricas
+    // Cliente fechou a conexão (stream SSE, exportação); não há para quem responder
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleClienteDesconectado(AsyncRequestNotUsableException ex) {
+        log.debug("Cliente desconectado: {}", ex.getMessage());
+    }
+
+    // Exceções genéricas; as do Spring MVC (rota inexistente, método não suportado...) mantêm o próprio status
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGenericException(Exception ex) {
+        HttpStatusCode status = ex instanceof ErrorResponse erro
+                ? erro.getStatusCode()
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        if (status.is5xxServerError()) {
+            log.error("Erro nao tratado na requisicao", ex);
+        } else {
+            log.debug("Requisicao rejeitada com {}: {}", status.value(), ex.getMessage());
+        }
+
         Map<String, Object> body = new HashMap<>();
         body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Internal Server Error");
+        body.put("status", status.value());
+        body.put("error", status instanceof HttpStatus conhecido ? conhecido.getReasonPhrase() : "Error");
         body.put("message", ex.getMessage());
-        return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(body, status);
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package br.com.smartparker.index;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.model.Usuario;
+import br.com.smartparker.repository.LocalizacaoMotoRepository;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.repository.PatioRepository;
+import br.com.smartparker.repository.SetorRepository;
+import br.com.smartparker.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Carrega os índices em memória a partir do banco no startup. Cada tabela é
+ * lida uma única vez, numa só transação read-only, e as mesmas listas
+ * alimentam todos os índices: setores e localizações eram lidos duas vezes
+ * quando cada índice se carregava sozinho. Numa base persistente (perfil
+ * "arquivo" ou "postgres") isso é o que define o tempo até a API ficar pronta.
+ */
+@Component
+@Slf4j
+public class AquecimentoIndices {
+
+    @Autowired
+    private PatioRepository patioRepository;
+
+    @Autowired
+    private SetorRepository setorRepository;
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private LocalizacaoMotoRepository localizacaoRepository;
+
+    @Autowired
+    private LocalizacaoIndex localizacaoIndex;
+
+    @Autowired
+    private OcupacaoIndex ocupacaoIndex;
+
+    @Autowired
+    private BuscaTextualIndex buscaTextualIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        long inicio = System.nanoTime();
+
+        // 1. Pátios, setores e motos primeiro: as associações LAZY de usuários e
+        // localizações apontam para instâncias que já estão no contexto de persistência
+        List<Patio> patios = patioRepository.findAll();
+        List<Setor> setores = setorRepository.findAll();
+        List<Moto> motos = motoRepository.findAll();
+        List<Usuario> usuarios = usuarioRepository.findAll();
+        List<LocalizacaoMoto> localizacoes = localizacaoRepository.findAll();
+
+        // 2. Índices
+        localizacaoIndex.carregar(localizacoes);
+        ocupacaoIndex.carregar(setores, localizacoes);
+        buscaTextualIndex.carregar(motos, usuarios, patios, setores);
+
+        log.info("Indices aquecidos em {} ms ({} patios, {} setores, {} motos, {} usuarios, {} localizacoes)",
+                (System.nanoTime() - inicio) / 1_000_000, patios.size(), setores.size(), motos.size(),
+                usuarios.size(), localizacoes.size());
+    }
+}
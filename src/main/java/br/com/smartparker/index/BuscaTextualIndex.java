@@ -0,0 +1,173 @@
+package br.com.smartparker.index;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.model.Usuario;
+import br.com.smartparker.specification.BuscaTextual;
+import br.com.smartparker.specification.CampoTexto;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índices de trigramas dos campos de texto livre (nome, fabricante,
+ * localização). Carregado no startup e mantido pelas escritas de moto,
+ * usuário, pátio e setor.
+ *
+ * Os candidatos viram "id IN (...)" na Specification, então um índice
+ * incompleto devolveria menos linhas, não só uma consulta mais lenta. Por isso
+ * ele só responde depois de carregado e enquanto nenhuma escrita desses
+ * campos está entre o início da transação e a atualização pós-commit; fora
+ * disso a busca cai no LIKE. Com várias instâncias no mesmo banco (perfil
+ * postgres) o índice fica desligado e o LIKE usa os índices pg_trgm.
+ */
+@Component
+@Slf4j
+public class BuscaTextualIndex implements BuscaTextual {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<CampoTexto, TrigramIndex> indices = new EnumMap<>(CampoTexto.class);
+
+    private final boolean habilitado;
+
+    private volatile boolean carregado;
+
+    private final AtomicInteger escritasPendentes = new AtomicInteger();
+
+    public BuscaTextualIndex(@Value("${smartparker.busca.indice-textual:true}") boolean habilitado) {
+        this.habilitado = habilitado;
+        for (CampoTexto campo : CampoTexto.values()) {
+            indices.put(campo, new TrigramIndex());
+        }
+    }
+
+    public void carregar(List<Moto> motos, List<Usuario> usuarios, List<Patio> patios, List<Setor> setores) {
+        if (!habilitado) {
+            log.info("Indice textual desligado; buscas por texto usam LIKE");
+            return;
+        }
+        escrever(() -> {
+            indices.values().forEach(TrigramIndex::clear);
+            motos.forEach(this::indexar);
+            usuarios.forEach(this::indexar);
+            patios.forEach(this::indexar);
+            setores.forEach(this::indexar);
+            carregado = true;
+        });
+        log.info("Indice textual carregado: {} motos, {} usuarios, {} patios, {} setores",
+                motos.size(), usuarios.size(), patios.size(), setores.size());
+    }
+
+    @Override
+    public Optional<Set<Long>> candidatos(CampoTexto campo, String termo) {
+        if (!carregado || escritasPendentes.get() > 0) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return indices.get(campo).candidatos(termo);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Chamado no início de uma escrita de moto, usuário, pátio ou setor. Até a
+     * transação terminar (commit, com o índice já atualizado, ou rollback) as
+     * buscas ignoram o índice.
+     */
+    public void escritaPendente() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        escritasPendentes.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                escritasPendentes.decrementAndGet();
+            }
+        });
+    }
+
+    public void indexarMoto(Moto moto) {
+        escrever(() -> indexar(moto));
+    }
+
+    public void removerMoto(long id) {
+        escrever(() -> {
+            indices.get(CampoTexto.MOTO_NOME).remove(id);
+            indices.get(CampoTexto.MOTO_FABRICANTE).remove(id);
+        });
+    }
+
+    public void indexarUsuario(Usuario usuario) {
+        escrever(() -> indexar(usuario));
+    }
+
+    public void removerUsuario(long id) {
+        escrever(() -> indices.get(CampoTexto.USUARIO_NOME).remove(id));
+    }
+
+    public void indexarPatio(Patio patio) {
+        escrever(() -> indexar(patio));
+    }
+
+    public void removerPatio(long id) {
+        escrever(() -> {
+            indices.get(CampoTexto.PATIO_NOME).remove(id);
+            indices.get(CampoTexto.PATIO_LOCALIZACAO).remove(id);
+        });
+    }
+
+    public void indexarSetor(Setor setor) {
+        escrever(() -> indexar(setor));
+    }
+
+    public void removerSetor(long id) {
+        escrever(() -> indices.get(CampoTexto.SETOR_NOME).remove(id));
+    }
+
+    private void indexar(Moto moto) {
+        indices.get(CampoTexto.MOTO_NOME).put(moto.getId(), moto.getNome());
+        indices.get(CampoTexto.MOTO_FABRICANTE).put(moto.getId(), moto.getFabricante());
+    }
+
+    private void indexar(Usuario usuario) {
+        indices.get(CampoTexto.USUARIO_NOME).put(usuario.getId(), usuario.getNome());
+    }
+
+    private void indexar(Patio patio) {
+        indices.get(CampoTexto.PATIO_NOME).put(patio.getId(), patio.getNome());
+        indices.get(CampoTexto.PATIO_LOCALIZACAO).put(patio.getId(), patio.getLocalizacao());
+    }
+
+    private void indexar(Setor setor) {
+        indices.get(CampoTexto.SETOR_NOME).put(setor.getId(), setor.getNome());
+    }
+
+    private void escrever(Runnable escrita) {
+        if (!habilitado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            escrita.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
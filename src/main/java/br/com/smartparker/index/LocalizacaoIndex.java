@@ -0,0 +1,168 @@
+package br.com.smartparker.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Setor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice em memória da posição atual de cada moto, por ID da moto, placa e
+ * QR code. Carregado no startup e mantido pelos caminhos de escrita de
+ * localização, moto e setor; as consultas não passam pelo JPA.
+ */
+@Component
+@Slf4j
+public class LocalizacaoIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongObjectMap<PosicaoMoto> porMoto = new LongObjectMap<>();
+
+    private final LongObjectMap<PosicaoMoto> porLocalizacao = new LongObjectMap<>();
+
+    private final Map<String, PosicaoMoto> porPlaca = new HashMap<>();
+
+    private final Map<String, PosicaoMoto> porQrCode = new HashMap<>();
+
+    public void carregar(List<LocalizacaoMoto> localizacoes) {
+        escrever(() -> {
+            porMoto.clear();
+            porLocalizacao.clear();
+            porPlaca.clear();
+            porQrCode.clear();
+            localizacoes.forEach(localizacao -> indexar(PosicaoMoto.of(localizacao)));
+        });
+        log.info("Indice de localizacoes carregado com {} motos", localizacoes.size());
+    }
+
+    public Optional<PosicaoMoto> porMoto(long motoId) {
+        return ler(() -> porMoto.get(motoId));
+    }
+
+    public Optional<PosicaoMoto> porPlaca(String placa) {
+        return ler(() -> porPlaca.get(placa));
+    }
+
+    public Optional<PosicaoMoto> porQrCode(String qrCode) {
+        return ler(() -> porQrCode.get(qrCode));
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return porMoto.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void registrar(LocalizacaoMoto localizacao) {
+        PosicaoMoto posicao = PosicaoMoto.of(localizacao);
+        escrever(() -> {
+            // A mesma localização pode ter trocado de moto num update
+            PosicaoMoto anterior = porLocalizacao.get(posicao.localizacaoId());
+            if (anterior != null) {
+                desindexar(anterior);
+            }
+            PosicaoMoto antigaDaMoto = porMoto.get(posicao.motoId());
+            if (antigaDaMoto != null) {
+                desindexar(antigaDaMoto);
+            }
+            indexar(posicao);
+        });
+    }
+
+    public void remover(long localizacaoId) {
+        escrever(() -> {
+            PosicaoMoto anterior = porLocalizacao.get(localizacaoId);
+            if (anterior != null) {
+                desindexar(anterior);
+            }
+        });
+    }
+
+    public void atualizarMoto(Moto moto) {
+        escrever(() -> {
+            PosicaoMoto anterior = porMoto.get(moto.getId());
+            if (anterior != null) {
+                desindexar(anterior);
+                indexar(anterior.comMoto(moto));
+            }
+        });
+    }
+
+    public void removerMoto(long motoId) {
+        escrever(() -> {
+            PosicaoMoto anterior = porMoto.get(motoId);
+            if (anterior != null) {
+                desindexar(anterior);
+            }
+        });
+    }
+
+    public void atualizarSetor(Setor setor) {
+        escrever(() -> {
+            List<PosicaoMoto> afetadas = new ArrayList<>();
+            porMoto.forEachValue(posicao -> {
+                if (posicao.setorId() == setor.getId()) {
+                    afetadas.add(posicao);
+                }
+            });
+            afetadas.forEach(posicao -> {
+                desindexar(posicao);
+                indexar(posicao.comSetor(setor));
+            });
+        });
+    }
+
+    private void indexar(PosicaoMoto posicao) {
+        porMoto.put(posicao.motoId(), posicao);
+        porLocalizacao.put(posicao.localizacaoId(), posicao);
+        if (posicao.placa() != null) {
+            porPlaca.put(posicao.placa(), posicao);
+        }
+        if (posicao.qrCode() != null) {
+            porQrCode.put(posicao.qrCode(), posicao);
+        }
+    }
+
+    private void desindexar(PosicaoMoto posicao) {
+        porMoto.remove(posicao.motoId());
+        porLocalizacao.remove(posicao.localizacaoId());
+        if (posicao.placa() != null) {
+            porPlaca.remove(posicao.placa(), posicao);
+        }
+        if (posicao.qrCode() != null) {
+            porQrCode.remove(posicao.qrCode(), posicao);
+        }
+    }
+
+    private Optional<PosicaoMoto> ler(Supplier<PosicaoMoto> leitura) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(leitura.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void escrever(Runnable escrita) {
+        lock.writeLock().lock();
+        try {
+            escrita.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
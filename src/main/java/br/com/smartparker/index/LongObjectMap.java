@@ -0,0 +1,144 @@
+package br.com.smartparker.index;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa de chave {@code long} primitiva com endereçamento aberto (sondagem
+ * linear), sem boxing das chaves. Não é thread-safe; quem usa controla o
+ * acesso concorrente. Valores nulos não são aceitos.
+ */
+public class LongObjectMap<V> {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private static final float CARGA_MAXIMA = 0.6f;
+
+    private long[] chaves;
+
+    private Object[] valores;
+
+    private int tamanho;
+
+    private int limite;
+
+    public LongObjectMap() {
+        this(CAPACIDADE_INICIAL);
+    }
+
+    public LongObjectMap(int capacidadeEsperada) {
+        int capacidade = Integer.highestOneBit(Math.max(CAPACIDADE_INICIAL, (int) (capacidadeEsperada / CARGA_MAXIMA)) - 1) << 1;
+        alocar(capacidade);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long chave) {
+        int mascara = chaves.length - 1;
+        for (int i = indice(chave, mascara); valores[i] != null; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                return (V) valores[i];
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long chave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Valores nulos não são suportados.");
+        }
+        int mascara = chaves.length - 1;
+        int i = indice(chave, mascara);
+        for (; valores[i] != null; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+        }
+        chaves[i] = chave;
+        valores[i] = valor;
+        if (++tamanho > limite) {
+            redimensionar();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long chave) {
+        int mascara = chaves.length - 1;
+        for (int i = indice(chave, mascara); valores[i] != null; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                V anterior = (V) valores[i];
+                compactar(i, mascara);
+                tamanho--;
+                return anterior;
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> acao) {
+        for (Object valor : valores) {
+            if (valor != null) {
+                acao.accept((V) valor);
+            }
+        }
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    public void clear() {
+        Arrays.fill(valores, null);
+        tamanho = 0;
+    }
+
+    // Remoção com deslocamento para trás: mantém as cadeias de sondagem sem lápides
+    private void compactar(int livre, int mascara) {
+        int i = livre;
+        while (true) {
+            i = (i + 1) & mascara;
+            if (valores[i] == null) {
+                break;
+            }
+            int ideal = indice(chaves[i], mascara);
+            boolean podeMover = livre <= i
+                    ? ideal <= livre || ideal > i
+                    : ideal <= livre && ideal > i;
+            if (podeMover) {
+                chaves[livre] = chaves[i];
+                valores[livre] = valores[i];
+                livre = i;
+            }
+        }
+        valores[livre] = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        Object[] valoresAntigos = valores;
+        alocar(chaves.length << 1);
+        tamanho = 0;
+        for (int i = 0; i < valoresAntigos.length; i++) {
+            if (valoresAntigos[i] != null) {
+                put(chavesAntigas[i], (V) valoresAntigos[i]);
+            }
+        }
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        valores = new Object[capacidade];
+        limite = (int) (capacidade * CARGA_MAXIMA);
+    }
+
+    // Pacote: os testes montam colisões e cadeias que dão a volta na tabela a partir dele
+    static int indice(long chave, int mascara) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
@@ -0,0 +1,338 @@
+package br.com.smartparker.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Setor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mapa de ocupação das vagas (fileira/vaga de cada setor) por pátio. Cada
+ * fileira guarda dois bitsets indexados pelo número da vaga: vagas existentes
+ * e vagas ocupadas. Os totais do pátio são mantidos incrementalmente, então o
+ * resumo é O(fileiras). Cada fileira também conta as vagas livres, então a
+ * busca pula fileiras cheias sem olhar os bits, e dentro da fileira anda pelos
+ * bitsets com nextSetBit/nextClearBit, sem cópia e sem consultar o banco. Um
+ * pátio sai do mapa junto com o último setor dele.
+ */
+@Component
+@Slf4j
+public class OcupacaoIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final LongObjectMap<MapaPatio> patios = new LongObjectMap<>();
+
+    private final LongObjectMap<SetorVaga> setores = new LongObjectMap<>();
+
+    private final LongObjectMap<SetorVaga> localizacoes = new LongObjectMap<>();
+
+    public void carregar(List<Setor> todosSetores, List<LocalizacaoMoto> todasLocalizacoes) {
+        escrever(() -> {
+            patios.clear();
+            setores.clear();
+            localizacoes.clear();
+            todosSetores.forEach(this::indexarSetor);
+            todasLocalizacoes.forEach(localizacao -> ocupar(localizacao.getId(), localizacao.getSetor().getId()));
+        });
+        log.info("Mapa de ocupacao carregado com {} setores e {} motos", todosSetores.size(), todasLocalizacoes.size());
+    }
+
+    // Escritas de setor
+
+    public void registrarSetor(Setor setor) {
+        escrever(() -> {
+            SetorVaga atual = setores.get(setor.getId());
+            if (atual == null) {
+                indexarSetor(setor);
+                return;
+            }
+            // Setor mudou de pátio/fileira/vaga: as motos dele vão junto
+            MapaPatio origem = atual.patio;
+            origem.removerSetor(atual);
+            MapaPatio destino = mapaDoPatio(setor.getPatio().getId());
+            atual.patio = destino;
+            atual.vaga = destino.adicionarSetor(setor.getId(), setor.getFileira(), setor.getVaga(), atual.motos);
+            descartarSeVazio(origem);
+        });
+    }
+
+    public void removerSetor(long setorId) {
+        escrever(() -> {
+            SetorVaga atual = setores.remove(setorId);
+            if (atual != null) {
+                atual.patio.removerSetor(atual);
+                descartarSeVazio(atual.patio);
+            }
+        });
+    }
+
+    // Escritas de localização
+
+    public void registrarLocalizacao(LocalizacaoMoto localizacao) {
+        escrever(() -> {
+            liberar(localizacao.getId());
+            ocupar(localizacao.getId(), localizacao.getSetor().getId());
+        });
+    }
+
+    public void removerLocalizacao(long localizacaoId) {
+        escrever(() -> liberar(localizacaoId));
+    }
+
+    // Consultas
+
+    public Optional<ResumoPatio> resumo(long patioId) {
+        lock.readLock().lock();
+        try {
+            MapaPatio mapa = patios.get(patioId);
+            if (mapa == null) {
+                return Optional.empty();
+            }
+            List<ResumoFileira> fileiras = new ArrayList<>(mapa.fileiras.size());
+            mapa.fileiras.forEach((numero, fileira) -> fileiras.add(new ResumoFileira(numero,
+                    fileira.existentes.cardinality(), fileira.ocupadas.cardinality())));
+            return Optional.of(new ResumoPatio(patioId, mapa.totalVagas, mapa.totalOcupadas, fileiras));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<VagaLivre> vagasLivres(long patioId) {
+        lock.readLock().lock();
+        try {
+            MapaPatio mapa = patios.get(patioId);
+            if (mapa == null || mapa.totalVagas == mapa.totalOcupadas) {
+                return List.of();
+            }
+            List<VagaLivre> livres = new ArrayList<>(mapa.totalVagas - mapa.totalOcupadas);
+            for (Map.Entry<Integer, Fileira> entrada : mapa.fileiras.entrySet()) {
+                Fileira fileira = entrada.getValue();
+                if (fileira.livres == 0) {
+                    continue;
+                }
+                for (int vaga = fileira.proximaLivre(0); vaga >= 0; vaga = fileira.proximaLivre(vaga + 1)) {
+                    livres.add(vagaLivre(mapa, entrada.getKey(), vaga));
+                }
+            }
+            return livres;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<VagaLivre> primeiraVagaLivre(long patioId) {
+        lock.readLock().lock();
+        try {
+            MapaPatio mapa = patios.get(patioId);
+            if (mapa == null || mapa.totalVagas == mapa.totalOcupadas) {
+                return Optional.empty();
+            }
+            for (Map.Entry<Integer, Fileira> entrada : mapa.fileiras.entrySet()) {
+                if (entrada.getValue().livres > 0) {
+                    return Optional.of(vagaLivre(mapa, entrada.getKey(), entrada.getValue().proximaLivre(0)));
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static VagaLivre vagaLivre(MapaPatio mapa, int fileira, int vaga) {
+        return new VagaLivre(mapa.vagas.get(chave(fileira, vaga)).setores.get(0), fileira, vaga);
+    }
+
+    private void indexarSetor(Setor setor) {
+        MapaPatio mapa = mapaDoPatio(setor.getPatio().getId());
+        SetorVaga setorVaga = new SetorVaga(setor.getId());
+        setorVaga.patio = mapa;
+        setorVaga.vaga = mapa.adicionarSetor(setor.getId(), setor.getFileira(), setor.getVaga(), 0);
+        setores.put(setor.getId(), setorVaga);
+    }
+
+    private MapaPatio mapaDoPatio(long patioId) {
+        MapaPatio mapa = patios.get(patioId);
+        if (mapa == null) {
+            mapa = new MapaPatio(patioId);
+            patios.put(patioId, mapa);
+        }
+        return mapa;
+    }
+
+    private void descartarSeVazio(MapaPatio mapa) {
+        if (mapa.vagas.size() == 0) {
+            patios.remove(mapa.patioId);
+        }
+    }
+
+    private void ocupar(long localizacaoId, long setorId) {
+        SetorVaga setorVaga = setores.get(setorId);
+        if (setorVaga == null) {
+            return;
+        }
+        setorVaga.motos++;
+        setorVaga.patio.ocupar(setorVaga.vaga, 1);
+        localizacoes.put(localizacaoId, setorVaga);
+    }
+
+    private void liberar(long localizacaoId) {
+        SetorVaga setorVaga = localizacoes.remove(localizacaoId);
+        if (setorVaga == null) {
+            return;
+        }
+        setorVaga.motos--;
+        setorVaga.patio.ocupar(setorVaga.vaga, -1);
+    }
+
+    private void escrever(Runnable escrita) {
+        lock.writeLock().lock();
+        try {
+            escrita.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long chave(int fileira, int vaga) {
+        return ((long) fileira << 32) | (vaga & 0xFFFFFFFFL);
+    }
+
+    public record ResumoPatio(long patioId, int totalVagas, int ocupadas, List<ResumoFileira> fileiras) {
+    }
+
+    public record ResumoFileira(int fileira, int totalVagas, int ocupadas) {
+    }
+
+    public record VagaLivre(long setorId, int fileira, int vaga) {
+    }
+
+    // Estado de um pátio; só é acessado com o lock do índice
+    private static class MapaPatio {
+
+        private final long patioId;
+
+        private final TreeMap<Integer, Fileira> fileiras = new TreeMap<>();
+
+        private final LongObjectMap<Vaga> vagas = new LongObjectMap<>();
+
+        private int totalVagas;
+
+        private int totalOcupadas;
+
+        MapaPatio(long patioId) {
+            this.patioId = patioId;
+        }
+
+        Vaga adicionarSetor(long setorId, int fileira, int numero, int motos) {
+            long chave = chave(fileira, numero);
+            Vaga vaga = vagas.get(chave);
+            if (vaga == null) {
+                vaga = new Vaga(fileira, numero);
+                vagas.put(chave, vaga);
+                Fileira novaVaga = fileiras.computeIfAbsent(fileira, f -> new Fileira());
+                novaVaga.existentes.set(numero);
+                novaVaga.livres++;
+                totalVagas++;
+            }
+            vaga.setores.add(setorId);
+            ocupar(vaga, motos);
+            return vaga;
+        }
+
+        void removerSetor(SetorVaga setorVaga) {
+            Vaga vaga = setorVaga.vaga;
+            ocupar(vaga, -setorVaga.motos);
+            vaga.setores.remove(Long.valueOf(setorVaga.setorId));
+            if (!vaga.setores.isEmpty()) {
+                return;
+            }
+            vagas.remove(chave(vaga.fileira, vaga.numero));
+            Fileira fileira = fileiras.get(vaga.fileira);
+            fileira.existentes.clear(vaga.numero);
+            fileira.livres--;
+            if (fileira.existentes.isEmpty()) {
+                fileiras.remove(vaga.fileira);
+            }
+            totalVagas--;
+        }
+
+        void ocupar(Vaga vaga, int delta) {
+            boolean estavaOcupada = vaga.motos > 0;
+            vaga.motos += delta;
+            boolean ficouOcupada = vaga.motos > 0;
+            if (estavaOcupada == ficouOcupada) {
+                return;
+            }
+            Fileira fileira = fileiras.get(vaga.fileira);
+            fileira.ocupadas.set(vaga.numero, ficouOcupada);
+            fileira.livres += ficouOcupada ? -1 : 1;
+            totalOcupadas += ficouOcupada ? 1 : -1;
+        }
+    }
+
+    private static class Fileira {
+
+        private final BitSet existentes = new BitSet();
+
+        private final BitSet ocupadas = new BitSet();
+
+        // Vagas existentes e desocupadas; zero pula a fileira inteira
+        private int livres;
+
+        // Primeira vaga livre a partir de "de", ou -1. nextClearBit salta de uma vez a sequência ocupada
+        // e nextSetBit a sequência que não existe, ambos por palavra de 64 bits
+        int proximaLivre(int de) {
+            int vaga = existentes.nextSetBit(de);
+            while (vaga >= 0) {
+                int livre = ocupadas.nextClearBit(vaga);
+                if (livre == vaga) {
+                    return vaga;
+                }
+                vaga = existentes.nextSetBit(livre);
+            }
+            return -1;
+        }
+    }
+
+    // Vaga física (fileira/vaga) de um pátio; pode ser compartilhada por mais de um setor
+    private static class Vaga {
+
+        private final int fileira;
+
+        private final int numero;
+
+        private final List<Long> setores = new ArrayList<>(1);
+
+        private int motos;
+
+        Vaga(int fileira, int numero) {
+            this.fileira = fileira;
+            this.numero = numero;
+        }
+    }
+
+    private static class SetorVaga {
+
+        private final long setorId;
+
+        private MapaPatio patio;
+
+        private Vaga vaga;
+
+        private int motos;
+
+        SetorVaga(long setorId) {
+            this.setorId = setorId;
+        }
+    }
+}
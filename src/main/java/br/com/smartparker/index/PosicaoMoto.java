@@ -0,0 +1,57 @@
+package br.com.smartparker.index;
+
+import java.time.LocalDateTime;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Setor;
+
+// Snapshot imutável da posição atual de uma moto, desacoplado das entidades JPA
+public record PosicaoMoto(
+        long localizacaoId,
+        LocalDateTime dataAtualizada,
+        long motoId,
+        String motoNome,
+        String fabricante,
+        int cilindrada,
+        String placa,
+        String status,
+        String qrCode,
+        long setorId,
+        String setorNome,
+        int fileira,
+        int vaga,
+        long patioId) {
+
+    public static PosicaoMoto of(LocalizacaoMoto localizacao) {
+        Moto moto = localizacao.getMoto();
+        Setor setor = localizacao.getSetor();
+        return new PosicaoMoto(
+                localizacao.getId(),
+                localizacao.getDataAtualizada(),
+                moto.getId(),
+                moto.getNome(),
+                moto.getFabricante(),
+                moto.getCilindrada(),
+                moto.getPlaca(),
+                moto.getStatus(),
+                moto.getQrCode(),
+                setor.getId(),
+                setor.getNome(),
+                setor.getFileira(),
+                setor.getVaga(),
+                setor.getPatio().getId());
+    }
+
+    public PosicaoMoto comMoto(Moto moto) {
+        return new PosicaoMoto(localizacaoId, dataAtualizada, motoId, moto.getNome(), moto.getFabricante(),
+                moto.getCilindrada(), moto.getPlaca(), moto.getStatus(), moto.getQrCode(),
+                setorId, setorNome, fileira, vaga, patioId);
+    }
+
+    public PosicaoMoto comSetor(Setor setor) {
+        return new PosicaoMoto(localizacaoId, dataAtualizada, motoId, motoNome, fabricante, cilindrada, placa,
+                status, qrCode, setorId, setor.getNome(), setor.getFileira(), setor.getVaga(),
+                setor.getPatio().getId());
+    }
+}
@@ -0,0 +1,95 @@
+package br.com.smartparker.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Índice invertido de trigramas para buscas "contém". O texto é normalizado
+ * (minúsculas, sem acento) e cada trigrama aponta para os IDs que o contêm;
+ * a busca intersecta as listas dos trigramas do termo. O resultado é um
+ * superconjunto: quem consulta ainda confirma com LIKE. Não é thread-safe.
+ */
+public class TrigramIndex {
+
+    private static final int N = 3;
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    private final LongObjectMap<Set<String>> trigramasPorId = new LongObjectMap<>();
+
+    public void put(long id, String texto) {
+        remove(id);
+        if (texto == null) {
+            return;
+        }
+        Set<String> trigramas = trigramas(texto);
+        trigramasPorId.put(id, trigramas);
+        trigramas.forEach(trigrama -> postings.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id));
+    }
+
+    public void remove(long id) {
+        Set<String> trigramas = trigramasPorId.remove(id);
+        if (trigramas == null) {
+            return;
+        }
+        trigramas.forEach(trigrama -> {
+            Set<Long> ids = postings.get(trigrama);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(trigrama);
+            }
+        });
+    }
+
+    public void clear() {
+        postings.clear();
+        trigramasPorId.clear();
+    }
+
+    // Vazio quando o termo é curto demais para ter trigramas
+    public Optional<Set<Long>> candidatos(String termo) {
+        Set<String> trigramas = trigramas(termo);
+        if (trigramas.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Set<Long>> listas = new ArrayList<>(trigramas.size());
+        for (String trigrama : trigramas) {
+            Set<Long> ids = postings.get(trigrama);
+            if (ids == null) {
+                return Optional.of(Set.of());
+            }
+            listas.add(ids);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> resultado = new HashSet<>(listas.get(0));
+        for (int i = 1; i < listas.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(listas.get(i));
+        }
+        return Optional.of(resultado);
+    }
+
+    static Set<String> trigramas(String texto) {
+        String normalizado = normalizar(texto);
+        Set<String> trigramas = new HashSet<>();
+        for (int i = 0; i + N <= normalizado.length(); i++) {
+            trigramas.add(normalizado.substring(i, i + N));
+        }
+        return trigramas;
+    }
+
+    private static String normalizar(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.smartparker.model;
+
+/**
+ * Alocação de IDs por sequence com otimizador pooled: o Hibernate reserva
+ * {@link #ALLOCATION_SIZE} IDs por ida ao banco e consegue agrupar os
+ * INSERTs em lotes JDBC (o que IDENTITY impede). O valor precisa ser igual ao
+ * INCREMENT BY das sequences no banco.
+ */
+public final class IdGeneration {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.smartparker.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Leitura aceita pela ingestão (202) que o banco recusou mesmo isolada; guardada para reprocessar ou investigar
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeituraRejeitada {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "leitura_rejeitada_seq")
+    @SequenceGenerator(name = "leitura_rejeitada_seq", sequenceName = "leitura_rejeitada_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+
+    private Long motoId;
+
+    private Long setorId;
+
+    private LocalDateTime lidaEm;
+
+    private LocalDateTime registradaEm;
+
+    private String erro;
+}
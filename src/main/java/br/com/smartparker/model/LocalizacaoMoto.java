@@ -10,6 +10,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,14 +24,16 @@ import lombok.NoArgsConstructor;
 public class LocalizacaoMoto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "localizacao_moto_seq")
+    @SequenceGenerator(name = "localizacao_moto_seq", sequenceName = "localizacao_moto_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     private Long id;
 
     private LocalDateTime dataAtualizada;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    // LAZY: as listagens trazem moto e setor por entity graph ou projeção
+    @OneToOne(fetch = FetchType.LAZY)
     private Moto moto;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Setor setor;
 }
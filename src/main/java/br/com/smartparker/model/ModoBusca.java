@@ -0,0 +1,8 @@
+package br.com.smartparker.model;
+
+// Como os filtros de texto comparam o valor informado com a coluna
+public enum ModoBusca {
+    EXATO,
+    PREFIXO,
+    CONTEM
+}
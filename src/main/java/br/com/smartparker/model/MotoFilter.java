@@ -1,4 +1,4 @@
 package br.com.smartparker.model;
 
-public record MotoFilter(String nome, String fabricante, String placa, String status) {
+public record MotoFilter(String nome, String fabricante, String placa, String status, ModoBusca modo) {
 }
@@ -0,0 +1,46 @@
+package br.com.smartparker.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Log append-only das movimentações; guarda só IDs para não depender do estado atual das outras tabelas
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MovimentacaoMoto {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movimentacao_moto_seq")
+    @SequenceGenerator(name = "movimentacao_moto_seq", sequenceName = "movimentacao_moto_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    private Long id;
+
+    // Chave de partição por tempo: consultas por intervalo filtram primeiro pelo dia
+    private LocalDate dia;
+
+    private LocalDateTime dataMovimentacao;
+
+    @Enumerated(EnumType.STRING)
+    private TipoMovimentacao tipo;
+
+    private Long motoId;
+
+    private Long setorId;
+
+    private Long setorAnteriorId;
+
+    private Long patioId;
+}
@@ -0,0 +1,6 @@
+package br.com.smartparker.model;
+
+import java.time.LocalDateTime;
+
+public record MovimentacaoMotoFilter(LocalDateTime inicio, LocalDateTime fim, Long motoId, Long setorId, Long patioId, TipoMovimentacao tipo) {
+}
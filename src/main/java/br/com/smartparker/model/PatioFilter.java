@@ -1,4 +1,4 @@
 package br.com.smartparker.model;
 
-public record PatioFilter(String nome, String localizacao) {
+public record PatioFilter(String nome, String localizacao, ModoBusca modo) {
 }
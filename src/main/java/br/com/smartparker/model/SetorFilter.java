@@ -1,4 +1,4 @@
 package br.com.smartparker.model;
 
-public record SetorFilter(String nome, Integer fileira, Integer vaga, Patio patio) {
+public record SetorFilter(String nome, Integer fileira, Integer vaga, Patio patio, ModoBusca modo) {
 }
@@ -0,0 +1,7 @@
+package br.com.smartparker.model;
+
+public enum TipoMovimentacao {
+    ENTRADA,
+    MOVIMENTACAO,
+    SAIDA
+}
@@ -1,4 +1,4 @@
 package br.com.smartparker.model;
 
-public record UsuarioFilter(String nome, String email, String cpf, Moto moto) {
+public record UsuarioFilter(String nome, String email, String cpf, Moto moto, ModoBusca modo) {
 }
@@ -0,0 +1,113 @@
+package br.com.smartparker.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import br.com.smartparker.dto.JanelaDTO;
+
+/**
+ * Paginação sem count(*) e sem OFFSET. O cursor é a chave de ordenação do
+ * último item da janela (por exemplo nome + id), serializada em JSON e
+ * codificada em base64 para o cliente tratar como opaca; a próxima consulta
+ * busca só o que vem depois dessa chave, então o custo não cresce com a
+ * profundidade.
+ */
+public final class Cursores {
+
+    public static final int TAMANHO_PADRAO = 20;
+
+    public static final int TAMANHO_MAXIMO = 100;
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private Cursores() {
+    }
+
+    // Janela por keyset: a ordenação precisa terminar no id para ser estável.
+    // O grafo lista as associações LAZY que o conversor usa, buscadas no mesmo SELECT
+    public static <T, D> JanelaDTO<D> janela(JpaSpecificationExecutor<T> repository, Specification<T> spec,
+            Collection<String> grafo, Sort ordem, Map<String, Class<?>> chaves, String cursor, int tamanho,
+            Function<T, D> conversor) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O tamanho deve estar entre 1 e " + TAMANHO_MAXIMO + ".");
+        }
+
+        ScrollPosition posicao = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : decodificar(cursor, chaves);
+        Window<T> janela = repository.findBy(spec.and(buscando(grafo)), q -> q.sortBy(ordem).limit(tamanho).scroll(posicao));
+
+        String proximo = janela.hasNext() && !janela.isEmpty()
+                ? codificar((KeysetScrollPosition) janela.positionAt(janela.size() - 1))
+                : null;
+        return new JanelaDTO<>(janela.map(conversor).getContent(), janela.size(), janela.hasNext(), proximo);
+    }
+
+    // Página por OFFSET que só descobre se há próxima página, sem o count(*) do Page
+    public static <T> Slice<T> fatia(JpaSpecificationExecutor<T> repository, Specification<T> spec, Pageable pageable) {
+        ScrollPosition posicao = pageable.getOffset() == 0
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(pageable.getOffset() - 1);
+        Window<T> janela = repository.findBy(spec,
+                q -> q.sortBy(pageable.getSort()).limit(pageable.getPageSize()).scroll(posicao));
+        return new SliceImpl<>(janela.getContent(), pageable, janela.hasNext());
+    }
+
+    // O scroll do fluent query ignora project(), então as associações entram como fetch join
+    private static <T> Specification<T> buscando(Collection<String> grafo) {
+        return (root, query, cb) -> {
+            grafo.forEach(root::fetch);
+            return null;
+        };
+    }
+
+    static String codificar(KeysetScrollPosition posicao) {
+        try {
+            byte[] json = JSON.writeValueAsBytes(posicao.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao gerar cursor", e);
+        }
+    }
+
+    static KeysetScrollPosition decodificar(String cursor, Map<String, Class<?>> chaves) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor);
+            Map<String, Object> valores = JSON.readValue(new String(json, StandardCharsets.UTF_8),
+                    new TypeReference<Map<String, Object>>() {
+                    });
+            if (!valores.keySet().equals(chaves.keySet())) {
+                throw new IllegalArgumentException("Chaves inesperadas: " + valores.keySet());
+            }
+
+            Map<String, Object> tipados = new LinkedHashMap<>();
+            chaves.forEach((nome, tipo) -> tipados.put(nome, JSON.convertValue(valores.get(nome), tipo)));
+            return ScrollPosition.forward(tipados);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido.");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.smartparker.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.com.smartparker.model.LeituraRejeitada;
+
+public interface LeituraRejeitadaRepository extends JpaRepository<LeituraRejeitada, Long> {
+}
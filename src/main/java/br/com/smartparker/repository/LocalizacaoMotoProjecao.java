@@ -0,0 +1,20 @@
+package br.com.smartparker.repository;
+
+import java.time.LocalDateTime;
+
+// Linha plana de localização com moto e setor, montada direto do SELECT sem entidades gerenciadas
+public record LocalizacaoMotoProjecao(
+        Long id,
+        LocalDateTime dataAtualizada,
+        Long motoId,
+        String motoNome,
+        String fabricante,
+        int cilindrada,
+        String placa,
+        String status,
+        String qrCode,
+        Long setorId,
+        String setorNome,
+        int fileira,
+        int vaga) {
+}
@@ -1,12 +1,37 @@
 package br.com.smartparker.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import br.com.smartparker.model.LocalizacaoMoto;
 
-public interface LocalizacaoMotoRepository extends JpaRepository<LocalizacaoMoto, Long>, JpaSpecificationExecutor<LocalizacaoMoto> {
+public interface LocalizacaoMotoRepository extends JpaRepository<LocalizacaoMoto, Long>, JpaSpecificationExecutor<LocalizacaoMoto>,
+        LocalizacaoMotoRepositoryCustom {
+
+    // moto e setor são LAZY; os caminhos que montam DTO trazem os dois no mesmo SELECT
+    @Override
+    @EntityGraph(attributePaths = { "moto", "setor" })
+    List<LocalizacaoMoto> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = { "moto", "setor" })
+    Page<LocalizacaoMoto> findAll(Specification<LocalizacaoMoto> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = { "moto", "setor" })
+    Optional<LocalizacaoMoto> findById(Long id);
+
     Optional<LocalizacaoMoto> findByMotoId(Long motoId);
+
+    @Query("select l from LocalizacaoMoto l join fetch l.moto join fetch l.setor s join fetch s.patio where l.moto.id in :motoIds")
+    List<LocalizacaoMoto> findAllByMotoIdIn(Collection<Long> motoIds);
 }
@@ -0,0 +1,13 @@
+package br.com.smartparker.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+
+public interface LocalizacaoMotoRepositoryCustom {
+
+    // Page quando contar é true; senão um Slice, sem o count(*)
+    Slice<LocalizacaoMotoProjecao> findProjecoes(Specification<LocalizacaoMoto> spec, Pageable pageable, boolean contar);
+}
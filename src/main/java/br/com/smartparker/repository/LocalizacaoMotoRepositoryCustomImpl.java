@@ -0,0 +1,94 @@
+package br.com.smartparker.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Setor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Listagem de localizações como projeção: um único SELECT com os joins de
+ * moto e setor, construindo LocalizacaoMotoProjecao direto do resultado. Não
+ * cria entidades gerenciadas nem snapshots para dirty checking.
+ */
+class LocalizacaoMotoRepositoryCustomImpl implements LocalizacaoMotoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<LocalizacaoMotoProjecao> findProjecoes(Specification<LocalizacaoMoto> spec, Pageable pageable,
+            boolean contar) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LocalizacaoMotoProjecao> query = cb.createQuery(LocalizacaoMotoProjecao.class);
+        Root<LocalizacaoMoto> root = query.from(LocalizacaoMoto.class);
+        Join<LocalizacaoMoto, Moto> moto = root.join("moto");
+        Join<LocalizacaoMoto, Setor> setor = root.join("setor");
+
+        query.select(cb.construct(LocalizacaoMotoProjecao.class,
+                root.get("id"),
+                root.get("dataAtualizada"),
+                moto.get("id"),
+                moto.get("nome"),
+                moto.get("fabricante"),
+                moto.get("cilindrada"),
+                moto.get("placa"),
+                moto.get("status"),
+                moto.get("qrCode"),
+                setor.get("id"),
+                setor.get("nome"),
+                setor.get("fileira"),
+                setor.get("vaga")));
+        aplicarFiltro(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        TypedQuery<LocalizacaoMotoProjecao> typed = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typed.getResultList(), pageable, false);
+        }
+        typed.setFirstResult((int) pageable.getOffset());
+
+        if (contar) {
+            typed.setMaxResults(pageable.getPageSize());
+            return PageableExecutionUtils.getPage(typed.getResultList(), pageable, () -> contar(spec));
+        }
+
+        // Uma linha a mais só para saber se existe próxima página
+        typed.setMaxResults(pageable.getPageSize() + 1);
+        List<LocalizacaoMotoProjecao> linhas = typed.getResultList();
+        boolean temMais = linhas.size() > pageable.getPageSize();
+        return new SliceImpl<>(temMais ? linhas.subList(0, pageable.getPageSize()) : linhas, pageable, temMais);
+    }
+
+    private long contar(Specification<LocalizacaoMoto> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<LocalizacaoMoto> root = query.from(LocalizacaoMoto.class);
+        query.select(cb.count(root));
+        aplicarFiltro(spec, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void aplicarFiltro(Specification<LocalizacaoMoto> spec, Root<LocalizacaoMoto> root,
+            CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate filtro = spec.toPredicate(root, query, cb);
+        if (filtro != null) {
+            query.where(filtro);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package br.com.smartparker.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import br.com.smartparker.model.MovimentacaoMoto;
+
+public interface MovimentacaoMotoRepository extends JpaRepository<MovimentacaoMoto, Long>, JpaSpecificationExecutor<MovimentacaoMoto> {
+}
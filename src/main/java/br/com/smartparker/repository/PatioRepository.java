@@ -1,9 +1,20 @@
 package br.com.smartparker.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.com.smartparker.model.Patio;
+import jakarta.persistence.QueryHint;
 
 public interface PatioRepository extends JpaRepository<Patio, Long>, JpaSpecificationExecutor<Patio> {
+
+    // Pátios quase não mudam: a listagem filtrada fica no query cache até a próxima escrita na tabela
+    @Override
+    @QueryHints(value = @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), forCounting = true)
+    Page<Patio> findAll(Specification<Patio> spec, Pageable pageable);
 }
@@ -1,9 +1,26 @@
 package br.com.smartparker.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import br.com.smartparker.model.Setor;
+import jakarta.persistence.QueryHint;
 
-public interface SetorRepository extends JpaRepository<Setor, Long>, JpaSpecificationExecutor<Setor> {
-}
\ No newline at end of file
+public interface SetorRepository extends JpaRepository<Setor, Long>, JpaSpecificationExecutor<Setor>,
+        SetorRepositoryCustom {
+
+    // patio é LAZY; o SetorDTO inclui o pátio, então a listagem já o traz no join.
+    // Listagem e contagem vão para o query cache do Hibernate (ids), e os setores/pátios saem do segundo nível.
+    // findById fica o padrão (em.find): setor e pátio saem do segundo nível, sem ir ao banco
+    // (um @EntityGraph aqui viraria query e pularia o cache).
+    @Override
+    @EntityGraph(attributePaths = "patio")
+    @QueryHints(value = @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"), forCounting = true)
+    Page<Setor> findAll(Specification<Setor> spec, Pageable pageable);
+}
@@ -0,0 +1,12 @@
+package br.com.smartparker.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import br.com.smartparker.model.Setor;
+
+public interface SetorRepositoryCustom {
+
+    // Carrega pelos IDs passando pelo cache de segundo nível; IDs inexistentes ficam de fora
+    List<Setor> carregarPorIds(Collection<Long> ids);
+}
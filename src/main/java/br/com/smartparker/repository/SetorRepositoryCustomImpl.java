@@ -0,0 +1,38 @@
+package br.com.smartparker.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+import br.com.smartparker.model.Setor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Busca de vários setores por ID sem query: o multiLoad do Hibernate olha a
+ * sessão e o cache de segundo nível antes e só vai ao banco (um IN) com os IDs
+ * que faltaram. Uma query JPQL com IN sempre iria ao banco.
+ */
+class SetorRepositoryCustomImpl implements SetorRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Setor> carregarPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.unwrap(Session.class).byMultipleIds(Setor.class)
+                // Sem CacheMode explícito o multiLoad não consulta o segundo nível
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+}
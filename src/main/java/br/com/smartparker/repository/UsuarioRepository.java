@@ -1,9 +1,24 @@
 package br.com.smartparker.repository;
 
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import br.com.smartparker.model.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long>, JpaSpecificationExecutor<Usuario> {
+
+    // moto é LAZY; o UsuarioDTO inclui a moto, então as leituras já a trazem no join
+    @Override
+    @EntityGraph(attributePaths = "moto")
+    Page<Usuario> findAll(Specification<Usuario> spec, Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = "moto")
+    Optional<Usuario> findById(Long id);
 }
@@ -0,0 +1,29 @@
+package br.com.smartparker.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia efeitos colaterais de uma escrita (índices em memória, histórico,
+ * versões e dependências de cache) para depois do commit, para que um
+ * rollback não deixe essas estruturas à frente do banco. Fora de transação
+ * executa na hora.
+ */
+final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    static void executar(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,171 @@
+package br.com.smartparker.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.smartparker.model.FormatoExportacao;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportação em streaming para os jobs de BI. Lê com uma StatelessSession
+ * (sem contexto de persistência, então nada se acumula) e um cursor
+ * forward-only com fetch size configurado, escrevendo cada linha direto na
+ * resposta. A memória fica constante seja qual for o número de registros.
+ *
+ * Como a StatelessSession não faz lazy loading, quem chama informa os
+ * fetch joins das associações usadas nas colunas.
+ */
+@Service
+@Slf4j
+public class ExportacaoService {
+
+    private final SessionFactory sessionFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final int fetchSize;
+
+    public ExportacaoService(EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper,
+            @Value("${smartparker.exportacao.fetch-size:500}") int fetchSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.fetchSize = fetchSize;
+    }
+
+    public <T> StreamingResponseBody exportar(Class<T> tipo, Specification<T> spec, List<Coluna<T>> colunas,
+            FormatoExportacao formato) {
+        return exportar(tipo, spec, root -> {
+        }, colunas, formato);
+    }
+
+    public <T> StreamingResponseBody exportar(Class<T> tipo, Specification<T> spec, Consumer<Root<T>> fetches,
+            List<Coluna<T>> colunas, FormatoExportacao formato) {
+        return out -> {
+            long inicio = System.currentTimeMillis();
+            long linhas;
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                Transaction transacao = session.beginTransaction();
+                try (ScrollableResults<T> resultados = consultar(session, tipo, spec, fetches)) {
+                    linhas = switch (formato) {
+                        case NDJSON -> escreverNdjson(resultados, colunas, out);
+                        case CSV -> escreverCsv(resultados, colunas, out);
+                    };
+                } finally {
+                    // Somente leitura: encerra a transação sem gravar nada
+                    transacao.rollback();
+                }
+            }
+            log.info("Exportacao de {} ({}): {} linhas em {} ms", tipo.getSimpleName(), formato, linhas,
+                    System.currentTimeMillis() - inicio);
+        };
+    }
+
+    private <T> ScrollableResults<T> consultar(StatelessSession session, Class<T> tipo, Specification<T> spec,
+            Consumer<Root<T>> fetches) {
+        CriteriaBuilder cb = session.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(tipo);
+        Root<T> root = query.from(tipo);
+        fetches.accept(root);
+
+        Predicate filtro = spec.toPredicate(root, query, cb);
+        if (filtro != null) {
+            query.where(filtro);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return session.createQuery(query)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private <T> long escreverNdjson(ScrollableResults<T> resultados, List<Coluna<T>> colunas, OutputStream out)
+            throws IOException {
+        long linhas = 0;
+        try (JsonGenerator json = objectMapper.createGenerator(out)) {
+            // Cada objeto termina em '\n'; sem isso o Jackson separa valores de topo com espaço
+            json.setRootValueSeparator(null);
+            while (resultados.next()) {
+                T registro = resultados.get();
+                json.writeStartObject();
+                for (Coluna<T> coluna : colunas) {
+                    json.writeFieldName(coluna.nome());
+                    json.writeObject(coluna.valor().apply(registro));
+                }
+                json.writeEndObject();
+                json.writeRaw('\n');
+                if (++linhas % fetchSize == 0) {
+                    json.flush();
+                }
+            }
+        }
+        return linhas;
+    }
+
+    private <T> long escreverCsv(ScrollableResults<T> resultados, List<Coluna<T>> colunas, OutputStream out)
+            throws IOException {
+        long linhas = 0;
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.write(String.join(",", colunas.stream().map(Coluna::nome).toList()));
+        csv.write("\r\n");
+        while (resultados.next()) {
+            T registro = resultados.get();
+            for (int i = 0; i < colunas.size(); i++) {
+                if (i > 0) {
+                    csv.write(',');
+                }
+                csv.write(celulaCsv(colunas.get(i).valor().apply(registro)));
+            }
+            csv.write("\r\n");
+            if (++linhas % fetchSize == 0) {
+                csv.flush();
+            }
+        }
+        csv.flush();
+        return linhas;
+    }
+
+    // Texto que começa com = + - @ (ou tab/CR) vira fórmula ao abrir no Excel/Sheets: vai com um apóstrofo na
+    // frente. Números ficam como estão, senão um negativo deixaria de ser número na planilha
+    private static String celulaCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (!(valor instanceof Number) && !texto.isEmpty() && "=+-@\t\r".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.contains(",") || texto.contains("\"") || texto.contains("\n") || texto.contains("\r")) {
+            return "\"" + texto.replace("\"", "\"\"") + "\"";
+        }
+        return texto;
+    }
+
+    public record Coluna<T>(String nome, Function<T, Object> valor) {
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.smartparker.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.smartparker.eventos.MovimentacaoEventos;
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.MovimentacaoMoto;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.model.TipoMovimentacao;
+import br.com.smartparker.repository.MovimentacaoMotoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Grava o histórico de movimentações em lotes. As escritas de localização só
+ * enfileiram o registro; um job agendado descarrega a fila com saveAll e é o
+ * único que fala com o banco. Com a fila cheia, quem escreve espera um pouco
+ * por espaço (backpressure) e, se não houver, o registro é descartado e
+ * contado em smartparker.historico.descartadas: a thread da requisição nunca
+ * grava nem dorme em retry. Cada registro também vai para o
+ * {@link MovimentacaoEventos}, que empurra as movimentações aos painéis.
+ *
+ * O registro chega pelo afterCommit da escrita, quando a transação dela já
+ * terminou; por isso toda gravação aqui abre uma transação nova. Um lote que
+ * falha é repetido com backoff e, se ainda falhar, fica retido. A descarga
+ * seguinte começa por ele e só depois volta à fila, então o histórico é
+ * gravado na ordem em que foi registrado; como ela para no primeiro lote que
+ * falha, nunca há mais de um lote retido.
+ */
+@Service
+@Slf4j
+public class HistoricoMovimentacaoWriter {
+
+    private static final int TENTATIVAS = 3;
+
+    private final MovimentacaoMotoRepository repository;
+
+    private final MovimentacaoEventos eventos;
+
+    private final BlockingQueue<MovimentacaoMoto> pendentes;
+
+    // Lote que falhou, anterior a tudo que está na fila; só trocado com a trava
+    private volatile List<MovimentacaoMoto> retido = List.of();
+
+    private final Lock trava = new ReentrantLock();
+
+    private final TransactionTemplate novaTransacao;
+
+    private final int tamanhoLote;
+
+    private final Duration esperaFilaCheia;
+
+    private final Counter descartadas;
+
+    public HistoricoMovimentacaoWriter(MovimentacaoMotoRepository repository, MovimentacaoEventos eventos,
+            PlatformTransactionManager transactionManager, MeterRegistry registry,
+            @Value("${smartparker.historico.capacidade-fila:50000}") int capacidadeFila,
+            @Value("${smartparker.historico.tamanho-lote:500}") int tamanhoLote,
+            @Value("${smartparker.historico.espera-fila-cheia:200ms}") Duration esperaFilaCheia) {
+        this.repository = repository;
+        this.eventos = eventos;
+        this.pendentes = new LinkedBlockingQueue<>(capacidadeFila);
+        this.tamanhoLote = tamanhoLote;
+        this.esperaFilaCheia = esperaFilaCheia;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.descartadas = Counter.builder("smartparker.historico.descartadas")
+                .description("Movimentacoes descartadas com a fila do historico cheia")
+                .register(registry);
+    }
+
+    public void entrada(LocalizacaoMoto localizacao) {
+        registrar(TipoMovimentacao.ENTRADA, localizacao.getDataAtualizada(), localizacao.getMoto(), localizacao.getSetor(), null);
+    }
+
+    public void movimentacao(LocalizacaoMoto localizacao, Long setorAnteriorId) {
+        registrar(TipoMovimentacao.MOVIMENTACAO, localizacao.getDataAtualizada(), localizacao.getMoto(), localizacao.getSetor(), setorAnteriorId);
+    }
+
+    public void saida(Moto moto, Setor setor) {
+        registrar(TipoMovimentacao.SAIDA, LocalDateTime.now(), moto, setor, null);
+    }
+
+    public int pendentes() {
+        return pendentes.size() + retido.size();
+    }
+
+    @Scheduled(fixedDelayString = "${smartparker.historico.intervalo-flush:1000}")
+    public void descarregar() {
+        trava.lock();
+        try {
+            // 1. O retido primeiro, para o histórico não sair fora de ordem
+            if (!retido.isEmpty()) {
+                if (!gravar(retido)) {
+                    return;
+                }
+                retido = List.of();
+            }
+
+            // 2. Com o banco respondendo, drena a fila; um lote que falha para a descarga
+            List<MovimentacaoMoto> lote = new ArrayList<>(tamanhoLote);
+            while (pendentes.drainTo(lote, tamanhoLote) > 0) {
+                if (!gravar(lote)) {
+                    retido = lote;
+                    return;
+                }
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        descarregar();
+        if (pendentes() > 0) {
+            log.error("Encerrando com {} movimentacoes nao gravadas", pendentes());
+        }
+    }
+
+    private void registrar(TipoMovimentacao tipo, LocalDateTime data, Moto moto, Setor setor, Long setorAnteriorId) {
+        MovimentacaoMoto movimentacao = MovimentacaoMoto.builder()
+                .dia(data.toLocalDate())
+                .dataMovimentacao(data)
+                .tipo(tipo)
+                .motoId(moto.getId())
+                .setorId(setor.getId())
+                .setorAnteriorId(setorAnteriorId)
+                .patioId(setor.getPatio().getId())
+                .build();
+        eventos.publicar(movimentacao);
+
+        if (!enfileirar(movimentacao)) {
+            descartadas.increment();
+            log.warn("Fila do historico cheia; movimentacao {} da moto {} descartada", tipo, moto.getId());
+        }
+    }
+
+    private boolean enfileirar(MovimentacaoMoto movimentacao) {
+        try {
+            return pendentes.offer(movimentacao, esperaFilaCheia.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean gravar(List<MovimentacaoMoto> lote) {
+        for (int tentativa = 1; tentativa <= TENTATIVAS; tentativa++) {
+            try {
+                novaTransacao.executeWithoutResult(status -> repository.saveAll(lote));
+                return true;
+            } catch (RuntimeException e) {
+                // O rollback não devolve os IDs da sequência; com ID o saveAll tentaria um merge
+                lote.forEach(movimentacao -> movimentacao.setId(null));
+                log.warn("Falha ao gravar lote de {} movimentacoes (tentativa {} de {})", lote.size(), tentativa, TENTATIVAS, e);
+                if (tentativa < TENTATIVAS) {
+                    esperar(100L << tentativa);
+                }
+            }
+        }
+        log.error("Lote de {} movimentacoes retido para a proxima descarga", lote.size());
+        return false;
+    }
+
+    private static void esperar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
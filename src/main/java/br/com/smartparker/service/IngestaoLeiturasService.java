@@ -0,0 +1,330 @@
+package br.com.smartparker.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import br.com.smartparker.dto.IngestaoRecebidaDTO;
+import br.com.smartparker.dto.IngestaoStatusDTO;
+import br.com.smartparker.dto.LocalizacaoLoteItemDTO;
+import br.com.smartparker.dto.LocalizacaoLoteResultadoDTO;
+import br.com.smartparker.model.LeituraRejeitada;
+import br.com.smartparker.repository.LeituraRejeitadaRepository;
+import br.com.smartparker.service.LocalizacaoMotoLoteService.LoteGravado;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ingestão write-behind das leituras de QR code (POST /localizacoes/leituras).
+ * A requisição só coloca as leituras em filas limitadas e responde 202; cada
+ * fila tem uma thread consumidora que drena o que acumulou e aplica tudo com o
+ * {@link LocalizacaoMotoLoteService}, numa transação por lote. A fila é
+ * escolhida pelo ID da moto, então as leituras de uma mesma moto são aplicadas
+ * na ordem em que chegaram (e o lote grava a última). Se a fila encher no meio
+ * de uma requisição, as leituras seguintes da mesma moto também são recusadas,
+ * para o leitor reenviar a sequência inteira em ordem.
+ *
+ * O 202 significa aceita, não gravada: o que está na fila vive só em memória.
+ * O encerramento drena as filas antes de fechar o banco e o progresso até o
+ * commit aparece em GET /localizacoes/leituras/status e nas métricas
+ * smartparker.ingestao.*.
+ *
+ * Um lote que o banco recusa é repetido e depois dividido ao meio, em ordem,
+ * até isolar a leitura que falha; as outras gravam normalmente. A leitura
+ * isolada vai para leitura_rejeitada (contada em falhas). Se nem essa gravação
+ * passa, o banco está fora: a partição para nessa leitura e tenta de novo com
+ * espera crescente até ele voltar, enquanto a fila cheia recusa novas leituras.
+ * Nada aceito é descartado, a não ser no encerramento com o banco fora.
+ */
+@Service
+@Slf4j
+public class IngestaoLeiturasService {
+
+    private static final int TENTATIVAS = 3;
+
+    private static final long ESPERA_MS = 200;
+
+    private final LocalizacaoMotoLoteService loteService;
+
+    private final LeituraRejeitadaRepository rejeitadaRepository;
+
+    private final Duration esperaMaxima;
+
+    private final List<Particao> particoes = new ArrayList<>();
+
+    private final int tamanhoLote;
+
+    private final AtomicLong recebidas = new AtomicLong();
+
+    private final AtomicLong aplicadas = new AtomicLong();
+
+    private final AtomicLong rejeitadas = new AtomicLong();
+
+    private final AtomicLong falhas = new AtomicLong();
+
+    private final AtomicLong lotes = new AtomicLong();
+
+    private volatile LocalDateTime ultimoCommit;
+
+    private volatile boolean ativo = true;
+
+    private final Timer tempoLote;
+
+    public IngestaoLeiturasService(LocalizacaoMotoLoteService loteService, LeituraRejeitadaRepository rejeitadaRepository,
+            MeterRegistry registry,
+            @Value("${smartparker.ingestao.particoes:2}") int quantidadeParticoes,
+            @Value("${smartparker.ingestao.capacidade:10000}") int capacidade,
+            @Value("${smartparker.ingestao.tamanho-lote:500}") int tamanhoLote,
+            @Value("${smartparker.ingestao.espera-maxima:30s}") Duration esperaMaxima) {
+        this.loteService = loteService;
+        this.rejeitadaRepository = rejeitadaRepository;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaMaxima = esperaMaxima;
+        for (int i = 0; i < quantidadeParticoes; i++) {
+            particoes.add(new Particao(new ArrayBlockingQueue<>(capacidade)));
+        }
+
+        Gauge.builder("smartparker.ingestao.pendentes", this, IngestaoLeiturasService::pendentes)
+                .description("Leituras aceitas ainda nao gravadas")
+                .register(registry);
+        contador(registry, "recebida", recebidas);
+        contador(registry, "aplicada", aplicadas);
+        contador(registry, "rejeitada", rejeitadas);
+        contador(registry, "falha", falhas);
+        this.tempoLote = Timer.builder("smartparker.ingestao.lote")
+                .description("Tempo de aplicar um lote de leituras, transacao inclusa")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("ingestao-");
+        particoes.forEach(particao -> {
+            particao.consumidor = threads.newThread(() -> consumir(particao));
+            particao.consumidor.start();
+        });
+    }
+
+    public IngestaoRecebidaDTO receber(List<LocalizacaoLoteItemDTO> leituras) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<LocalizacaoLoteItemDTO> recusadas = new ArrayList<>();
+        Set<Long> motosRecusadas = new HashSet<>();
+        int aceitas = 0;
+        for (LocalizacaoLoteItemDTO leitura : leituras) {
+            if (leitura.getLidaEm() == null) {
+                leitura.setLidaEm(agora);
+            }
+            if (ativo && !motosRecusadas.contains(leitura.getMotoId()) && particao(leitura.getMotoId()).fila.offer(leitura)) {
+                aceitas++;
+            } else {
+                motosRecusadas.add(leitura.getMotoId());
+                recusadas.add(leitura);
+            }
+        }
+        recebidas.addAndGet(aceitas);
+        return new IngestaoRecebidaDTO(aceitas, recusadas);
+    }
+
+    public IngestaoStatusDTO status() {
+        return new IngestaoStatusDTO(
+                recebidas.get(),
+                aplicadas.get(),
+                rejeitadas.get(),
+                falhas.get(),
+                lotes.get(),
+                pendentes(),
+                particoes.stream().map(particao -> particao.fila.size() + particao.emAndamento).toList(),
+                ultimoCommit);
+    }
+
+    // Inclui o lote em andamento: só sai daqui depois do commit
+    public int pendentes() {
+        return particoes.stream().mapToInt(particao -> particao.fila.size() + particao.emAndamento).sum();
+    }
+
+    // Sem interrupt: uma thread interrompida no meio da transação pode fechar o arquivo do H2
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        for (Particao particao : particoes) {
+            particao.consumidor.join(TimeUnit.SECONDS.toMillis(30));
+        }
+        if (pendentes() > 0) {
+            log.warn("Encerrando com {} leituras nao gravadas", pendentes());
+        }
+    }
+
+    private static void contador(MeterRegistry registry, String resultado, AtomicLong valor) {
+        FunctionCounter.builder("smartparker.ingestao.leituras", valor, AtomicLong::get)
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private Particao particao(Long motoId) {
+        return particoes.get(Math.floorMod(Long.hashCode(motoId), particoes.size()));
+    }
+
+    private void consumir(Particao particao) {
+        List<LocalizacaoLoteItemDTO> lote = new ArrayList<>(tamanhoLote);
+        while (ativo || !particao.fila.isEmpty()) {
+            // 1. Espera a primeira leitura; o timeout só serve para notar o encerramento
+            LocalizacaoLoteItemDTO primeira;
+            try {
+                primeira = particao.fila.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (primeira == null) {
+                continue;
+            }
+
+            // 2. O que chegou enquanto o lote anterior gravava vai junto
+            lote.add(primeira);
+            particao.fila.drainTo(lote, tamanhoLote - 1);
+            particao.emAndamento = lote.size();
+            aplicar(lote);
+            particao.emAndamento = 0;
+            lote.clear();
+        }
+    }
+
+    // Grava o lote; se o banco recusar mesmo depois das tentativas, divide ao meio para isolar a leitura ruim
+    private void aplicar(List<LocalizacaoLoteItemDTO> lote) {
+        LoteGravado gravado;
+        try {
+            gravado = gravar(lote);
+        } catch (Exception e) {
+            if (lote.size() > 1) {
+                int meio = lote.size() / 2;
+                log.warn("Lote de {} leituras recusado; dividindo em {} e {}", lote.size(), meio, lote.size() - meio);
+                aplicar(new ArrayList<>(lote.subList(0, meio)));
+                aplicar(new ArrayList<>(lote.subList(meio, lote.size())));
+            } else {
+                isolar(lote.get(0), e);
+            }
+            return;
+        }
+        concluir(lote, gravado);
+    }
+
+    // Só a transação é repetida; histórico, índices, cache e SSE rodam uma vez, depois do commit
+    private LoteGravado gravar(List<LocalizacaoLoteItemDTO> lote) throws Exception {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return tempoLote.recordCallable(() -> loteService.gravar(lote));
+            } catch (Exception e) {
+                log.warn("Falha ao gravar lote de {} leituras (tentativa {} de {})", lote.size(), tentativa, TENTATIVAS, e);
+                if (tentativa == TENTATIVAS) {
+                    throw e;
+                }
+                esperar(espera(tentativa));
+            }
+        }
+    }
+
+    /**
+     * Leitura que falha sozinha. Se ela grava em leitura_rejeitada, o banco
+     * está respondendo e o problema é a leitura; senão a partição fica nela,
+     * com espera crescente, até o banco voltar.
+     */
+    private void isolar(LocalizacaoLoteItemDTO leitura, Exception erro) {
+        for (int tentativa = 1; ; tentativa++) {
+            if (rejeitar(leitura, erro)) {
+                falhas.incrementAndGet();
+                return;
+            }
+            if (!ativo) {
+                falhas.incrementAndGet();
+                log.error("Encerrando com o banco fora; leitura da moto {} em {} perdida", leitura.getMotoId(), leitura.getLidaEm());
+                return;
+            }
+            esperar(espera(tentativa));
+            try {
+                concluir(List.of(leitura), gravar(List.of(leitura)));
+                return;
+            } catch (Exception e) {
+                erro = e;
+            }
+        }
+    }
+
+    private boolean rejeitar(LocalizacaoLoteItemDTO leitura, Exception erro) {
+        try {
+            rejeitadaRepository.save(LeituraRejeitada.builder()
+                    .motoId(leitura.getMotoId())
+                    .setorId(leitura.getSetorId())
+                    .lidaEm(leitura.getLidaEm())
+                    .registradaEm(LocalDateTime.now())
+                    .erro(resumo(erro))
+                    .build());
+            log.error("Leitura da moto {} em {} recusada pelo banco e guardada em leitura_rejeitada",
+                    leitura.getMotoId(), leitura.getLidaEm(), erro);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Banco indisponivel; leitura da moto {} fica na fila", leitura.getMotoId(), e);
+            return false;
+        }
+    }
+
+    private void concluir(List<LocalizacaoLoteItemDTO> lote, LoteGravado gravado) {
+        lotes.incrementAndGet();
+        ultimoCommit = LocalDateTime.now();
+        List<LocalizacaoLoteResultadoDTO> resultados = gravado.resultados();
+        long sucesso = resultados.stream().filter(LocalizacaoLoteResultadoDTO::isSucesso).count();
+        try {
+            loteService.concluir(gravado);
+        } catch (RuntimeException e) {
+            // O lote já está no banco; um índice atrasado não justifica gravar de novo
+            log.error("Falha nos efeitos pos-commit de um lote de {} leituras", lote.size(), e);
+        }
+        aplicadas.addAndGet(sucesso);
+        rejeitadas.addAndGet(resultados.size() - sucesso);
+    }
+
+    private long espera(int tentativa) {
+        return Math.min(100L << Math.min(tentativa, 20), esperaMaxima.toMillis());
+    }
+
+    private static String resumo(Exception erro) {
+        String mensagem = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+        return mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem;
+    }
+
+    private static void esperar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Particao {
+
+        private final BlockingQueue<LocalizacaoLoteItemDTO> fila;
+
+        private volatile int emAndamento;
+
+        private Thread consumidor;
+
+        private Particao(BlockingQueue<LocalizacaoLoteItemDTO> fila) {
+            this.fila = fila;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.smartparker.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.smartparker.cache.CacheVersions;
+import br.com.smartparker.dto.LocalizacaoLoteItemDTO;
+import br.com.smartparker.dto.LocalizacaoLoteResultadoDTO;
+import br.com.smartparker.index.LocalizacaoIndex;
+import br.com.smartparker.index.OcupacaoIndex;
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.repository.LocalizacaoMotoRepository;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.repository.SetorRepository;
+
+/**
+ * Check-in/movimentação em massa. Motos, setores e localizações atuais são
+ * resolvidos com uma consulta IN cada, e todas as gravações saem num único
+ * saveAll dentro de uma transação (agrupadas pelo hibernate.jdbc.batch_size).
+ * Cada item recebe seu próprio resultado; itens inválidos não derrubam o lote.
+ *
+ * A posição e o histórico levam o horário da leitura (lidaEm), não o da
+ * gravação, e uma leitura mais antiga que a posição gravada é ignorada: uma
+ * leitura que esperou na fila ou foi repetida não faz a moto voltar atrás.
+ */
+@Service
+public class LocalizacaoMotoLoteService {
+
+    @Autowired
+    private LocalizacaoMotoRepository repository;
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private SetorRepository setorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private HistoricoMovimentacaoWriter historico;
+
+    @Autowired
+    private LocalizacaoIndex localizacaoIndex;
+
+    @Autowired
+    private OcupacaoIndex ocupacaoIndex;
+
+    @Autowired
+    private CacheVersions cacheVersions;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    public List<LocalizacaoLoteResultadoDTO> aplicar(List<LocalizacaoLoteItemDTO> itens) {
+        return concluir(gravar(itens));
+    }
+
+    // Só a transação; quem quiser repetir numa falha repete isto, não o concluir
+    LoteGravado gravar(List<LocalizacaoLoteItemDTO> itens) {
+        List<Aplicado> aplicados = new ArrayList<>();
+        List<LocalizacaoLoteResultadoDTO> resultados = transactionTemplate.execute(status -> gravar(itens, aplicados));
+        return new LoteGravado(resultados, aplicados);
+    }
+
+    // Efeitos colaterais do commit, uma vez por lote gravado
+    List<LocalizacaoLoteResultadoDTO> concluir(LoteGravado lote) {
+        lote.aplicados().forEach(aplicado -> {
+            if (aplicado.setorAnteriorId() == null) {
+                historico.entrada(aplicado.localizacao());
+            } else {
+                historico.movimentacao(aplicado.localizacao(), aplicado.setorAnteriorId());
+                cacheManager.getCache("localizacoes").evict(aplicado.localizacao().getId());
+            }
+            localizacaoIndex.registrar(aplicado.localizacao());
+            ocupacaoIndex.registrarLocalizacao(aplicado.localizacao());
+        });
+        if (!lote.aplicados().isEmpty()) {
+            cacheVersions.invalidarPaginas("localizacoes");
+        }
+        return lote.resultados();
+    }
+
+    private List<LocalizacaoLoteResultadoDTO> gravar(List<LocalizacaoLoteItemDTO> itens, List<Aplicado> aplicados) {
+        Set<Long> motoIds = itens.stream().map(LocalizacaoLoteItemDTO::getMotoId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> setorIds = itens.stream().map(LocalizacaoLoteItemDTO::getSetorId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+
+        Map<Long, Moto> motos = motoRepository.findAllById(motoIds).stream()
+                .collect(Collectors.toMap(Moto::getId, Function.identity()));
+        Map<Long, Setor> setores = setorRepository.carregarPorIds(setorIds).stream()
+                .collect(Collectors.toMap(Setor::getId, Function.identity()));
+        Map<Long, LocalizacaoMoto> atuais = new HashMap<>();
+        repository.findAllByMotoIdIn(motoIds).forEach(localizacao -> atuais.put(localizacao.getMoto().getId(), localizacao));
+
+        List<LocalizacaoLoteResultadoDTO> resultados = new ArrayList<>(itens.size());
+        // Uma moto repetida no lote é gravada uma vez só, com o último setor
+        Map<Long, Aplicado> porMoto = new LinkedHashMap<>();
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (LocalizacaoLoteItemDTO item : itens) {
+            Moto moto = item.getMotoId() != null ? motos.get(item.getMotoId()) : null;
+            Setor setor = item.getSetorId() != null ? setores.get(item.getSetorId()) : null;
+            if (moto == null || setor == null) {
+                resultados.add(new LocalizacaoLoteResultadoDTO(item.getMotoId(), item.getSetorId(), false, null,
+                        moto == null ? "Moto não encontrada." : "Setor não encontrado."));
+                continue;
+            }
+
+            Aplicado anterior = porMoto.get(moto.getId());
+            LocalizacaoMoto localizacao = anterior != null ? anterior.localizacao() : atuais.get(moto.getId());
+            LocalDateTime lidaEm = item.getLidaEm() != null ? item.getLidaEm() : agora;
+            if (localizacao != null && localizacao.getDataAtualizada() != null && lidaEm.isBefore(localizacao.getDataAtualizada())) {
+                resultados.add(new LocalizacaoLoteResultadoDTO(moto.getId(), setor.getId(), false, localizacao.getId(),
+                        "Leitura anterior à posição atual da moto."));
+                continue;
+            }
+            Long setorAnteriorId = anterior != null ? anterior.setorAnteriorId()
+                    : localizacao != null ? localizacao.getSetor().getId() : null;
+            if (localizacao == null) {
+                localizacao = LocalizacaoMoto.builder().moto(moto).build();
+            }
+            localizacao.setSetor(setor);
+            localizacao.setDataAtualizada(lidaEm);
+            porMoto.put(moto.getId(), new Aplicado(localizacao, setorAnteriorId));
+            resultados.add(new LocalizacaoLoteResultadoDTO(moto.getId(), setor.getId(), true, null, null));
+        }
+
+        List<LocalizacaoMoto> gravadas = repository.saveAll(porMoto.values().stream().map(Aplicado::localizacao).toList());
+        gravadas.forEach(localizacao -> aplicados.add(porMoto.get(localizacao.getMoto().getId()).com(localizacao)));
+
+        // IDs só existem depois do saveAll
+        resultados.stream().filter(LocalizacaoLoteResultadoDTO::isSucesso)
+                .forEach(resultado -> resultado.setLocalizacaoId(porMoto.get(resultado.getMotoId()).localizacao().getId()));
+        return resultados;
+    }
+
+    record LoteGravado(List<LocalizacaoLoteResultadoDTO> resultados, List<Aplicado> aplicados) {
+    }
+
+    private record Aplicado(LocalizacaoMoto localizacao, Long setorAnteriorId) {
+
+        Aplicado com(LocalizacaoMoto gravada) {
+            return new Aplicado(gravada, setorAnteriorId);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package br.com.smartparker.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.smartparker.cache.CacheVersions;
+import br.com.smartparker.cache.CachedJson;
+import br.com.smartparker.cache.CachedJsonFactory;
+import br.com.smartparker.dto.JanelaDTO;
+import br.com.smartparker.dto.LocalizacaoMotoDTO;
+import br.com.smartparker.dto.MotoDTO;
+import br.com.smartparker.dto.SetorDTO;
+import br.com.smartparker.index.LocalizacaoIndex;
+import br.com.smartparker.index.OcupacaoIndex;
+import br.com.smartparker.index.PosicaoMoto;
+import br.com.smartparker.model.FormatoExportacao;
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.LocalizacaoMotoFilter;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.pagination.Cursores;
+import br.com.smartparker.repository.LocalizacaoMotoProjecao;
+import br.com.smartparker.repository.LocalizacaoMotoRepository;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.repository.SetorRepository;
+import br.com.smartparker.service.ExportacaoService.Coluna;
+import br.com.smartparker.specification.LocalizacaoMotoSpecification;
+
+/**
+ * As consultas de posição atual (por moto, placa e QR code) leem só o
+ * LocalizacaoIndex e por isso não abrem transação.
+ */
+@Service
+public class LocalizacaoMotoService {
+
+    private static final Sort ORDEM_CURSOR = Sort.by("dataAtualizada", "id");
+
+    private static final List<String> GRAFO_CURSOR = List.of("moto", "setor");
+
+    private static final Map<String, Class<?>> CHAVES_CURSOR = Map.of("dataAtualizada", LocalDateTime.class, "id", Long.class);
+
+    private static final List<Coluna<LocalizacaoMoto>> COLUNAS_EXPORTACAO = List.of(
+            new Coluna<>("id", LocalizacaoMoto::getId),
+            new Coluna<>("dataAtualizada", LocalizacaoMoto::getDataAtualizada),
+            new Coluna<>("motoId", l -> l.getMoto().getId()),
+            new Coluna<>("placa", l -> l.getMoto().getPlaca()),
+            new Coluna<>("motoNome", l -> l.getMoto().getNome()),
+            new Coluna<>("status", l -> l.getMoto().getStatus()),
+            new Coluna<>("setorId", l -> l.getSetor().getId()),
+            new Coluna<>("setorNome", l -> l.getSetor().getNome()),
+            new Coluna<>("fileira", l -> l.getSetor().getFileira()),
+            new Coluna<>("vaga", l -> l.getSetor().getVaga()),
+            new Coluna<>("patioId", l -> l.getSetor().getPatio().getId()));
+
+    @Autowired
+    private LocalizacaoMotoRepository repository;
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private SetorRepository setorRepository;
+
+    @Autowired
+    private CacheVersions cacheVersions;
+
+    @Autowired
+    private CachedJsonFactory cachedJson;
+
+    @Autowired
+    private LocalizacaoIndex localizacaoIndex;
+
+    @Autowired
+    private OcupacaoIndex ocupacaoIndex;
+
+    @Autowired
+    private HistoricoMovimentacaoWriter historico;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "localizacoes", keyGenerator = "listagemKeyGenerator", sync = true)
+    public CachedJson listar(LocalizacaoMotoFilter filter, Pageable pageable, boolean contar) {
+        return cachedJson.criar(repository.findProjecoes(LocalizacaoMotoSpecification.withFilters(filter), pageable, contar)
+                .map(this::toDTO));
+    }
+
+    @Transactional(readOnly = true)
+    public JanelaDTO<LocalizacaoMotoDTO> listarPorCursor(LocalizacaoMotoFilter filter, String cursor, int tamanho) {
+        return Cursores.janela(repository, LocalizacaoMotoSpecification.withFilters(filter), GRAFO_CURSOR,
+                ORDEM_CURSOR, CHAVES_CURSOR, cursor, tamanho, this::toDTO);
+    }
+
+    public StreamingResponseBody exportar(LocalizacaoMotoFilter filter, FormatoExportacao formato) {
+        return exportacaoService.exportar(LocalizacaoMoto.class, LocalizacaoMotoSpecification.withFilters(filter),
+                root -> {
+                    root.fetch("moto");
+                    root.fetch("setor").fetch("patio");
+                }, COLUNAS_EXPORTACAO, formato);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "localizacoes", key = "#id", sync = true)
+    public LocalizacaoMotoDTO buscar(Long id) {
+        return repository.findById(id).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada."));
+    }
+
+    public String detalhes(Long motoId) {
+        return localizacaoIndex.porMoto(motoId)
+                .map(posicao -> String.format(
+                        "Moto: %s (Placa: %s), Setor: %s (Fileira: %d, Vaga: %d), Atualizado em: %s",
+                        posicao.motoNome(),
+                        posicao.placa(),
+                        posicao.setorNome(),
+                        posicao.fileira(),
+                        posicao.vaga(),
+                        posicao.dataAtualizada()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada para a moto com ID " + motoId));
+    }
+
+    public LocalizacaoMotoDTO buscarPorPlaca(String placa) {
+        return localizacaoIndex.porPlaca(placa).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada para a placa " + placa));
+    }
+
+    public LocalizacaoMotoDTO buscarPorQrCode(String qrCode) {
+        return localizacaoIndex.porQrCode(qrCode).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada para o QR code " + qrCode));
+    }
+
+    @Transactional
+    @CachePut(value = "localizacoes", key = "#result.id")
+    public LocalizacaoMotoDTO criar(LocalizacaoMotoDTO localizacaoMotoDTO) {
+        Moto moto = buscarMoto(localizacaoMotoDTO);
+        Setor setor = buscarSetor(localizacaoMotoDTO);
+
+        LocalizacaoMoto localizacaoMoto = toEntity(localizacaoMotoDTO);
+        localizacaoMoto.setMoto(moto);
+        localizacaoMoto.setSetor(setor);
+        localizacaoMoto.setDataAtualizada(LocalDateTime.now());
+        LocalizacaoMoto salva = repository.save(localizacaoMoto);
+        AposCommit.executar(() -> {
+            historico.entrada(salva);
+            localizacaoIndex.registrar(salva);
+            ocupacaoIndex.registrarLocalizacao(salva);
+            cacheVersions.invalidarPaginas("localizacoes");
+        });
+        return toDTO(salva);
+    }
+
+    @Transactional
+    @CachePut(value = "localizacoes", key = "#id")
+    public LocalizacaoMotoDTO atualizar(Long id, LocalizacaoMotoDTO localizacaoMotoDTO) {
+        return repository.findById(id).map(existing -> {
+            Moto moto = buscarMoto(localizacaoMotoDTO);
+            Setor setor = buscarSetor(localizacaoMotoDTO);
+
+            Moto motoAnterior = existing.getMoto();
+            Setor setorAnterior = existing.getSetor();
+
+            existing.setMoto(moto);
+            existing.setSetor(setor);
+            existing.setDataAtualizada(LocalDateTime.now());
+            LocalizacaoMoto salva = repository.save(existing);
+            AposCommit.executar(() -> {
+                if (motoAnterior.getId().equals(moto.getId())) {
+                    historico.movimentacao(salva, setorAnterior.getId());
+                } else {
+                    // A localização foi reaproveitada por outra moto
+                    historico.saida(motoAnterior, setorAnterior);
+                    historico.entrada(salva);
+                }
+                localizacaoIndex.registrar(salva);
+                ocupacaoIndex.registrarLocalizacao(salva);
+                cacheVersions.invalidarPaginas("localizacoes");
+            });
+            return toDTO(salva);
+        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Localização não encontrada."));
+    }
+
+    @Transactional
+    @CacheEvict(value = "localizacoes", key = "#id")
+    public void excluir(Long id) {
+        repository.findById(id).ifPresent(localizacao -> {
+            repository.delete(localizacao);
+            AposCommit.executar(() -> historico.saida(localizacao.getMoto(), localizacao.getSetor()));
+        });
+        AposCommit.executar(() -> {
+            localizacaoIndex.remover(id);
+            ocupacaoIndex.removerLocalizacao(id);
+            cacheVersions.invalidarPaginas("localizacoes");
+        });
+    }
+
+    private Moto buscarMoto(LocalizacaoMotoDTO localizacaoMotoDTO) {
+        return motoRepository.findById(localizacaoMotoDTO.getMoto().getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
+    }
+
+    private Setor buscarSetor(LocalizacaoMotoDTO localizacaoMotoDTO) {
+        return setorRepository.findById(localizacaoMotoDTO.getSetor().getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Setor não encontrado."));
+    }
+
+    private LocalizacaoMotoDTO toDTO(LocalizacaoMoto localizacaoMoto) {
+        return new LocalizacaoMotoDTO(
+                localizacaoMoto.getId(),
+                localizacaoMoto.getDataAtualizada(),
+                new MotoDTO(
+                        localizacaoMoto.getMoto().getId(),
+                        localizacaoMoto.getMoto().getNome(),
+                        localizacaoMoto.getMoto().getFabricante(),
+                        localizacaoMoto.getMoto().getCilindrada(),
+                        localizacaoMoto.getMoto().getPlaca(),
+                        localizacaoMoto.getMoto().getStatus(),
+                        localizacaoMoto.getMoto().getQrCode()
+                ),
+                new SetorDTO(
+                        localizacaoMoto.getSetor().getId(),
+                        localizacaoMoto.getSetor().getNome(),
+                        localizacaoMoto.getSetor().getFileira(),
+                        localizacaoMoto.getSetor().getVaga(),
+                        null
+                )
+        );
+    }
+
+    private LocalizacaoMotoDTO toDTO(LocalizacaoMotoProjecao projecao) {
+        return new LocalizacaoMotoDTO(
+                projecao.id(),
+                projecao.dataAtualizada(),
+                new MotoDTO(
+                        projecao.motoId(),
+                        projecao.motoNome(),
+                        projecao.fabricante(),
+                        projecao.cilindrada(),
+                        projecao.placa(),
+                        projecao.status(),
+                        projecao.qrCode()
+                ),
+                new SetorDTO(
+                        projecao.setorId(),
+                        projecao.setorNome(),
+                        projecao.fileira(),
+                        projecao.vaga(),
+                        null
+                )
+        );
+    }
+
+    private LocalizacaoMotoDTO toDTO(PosicaoMoto posicao) {
+        return new LocalizacaoMotoDTO(
+                posicao.localizacaoId(),
+                posicao.dataAtualizada(),
+                new MotoDTO(
+                        posicao.motoId(),
+                        posicao.motoNome(),
+                        posicao.fabricante(),
+                        posicao.cilindrada(),
+                        posicao.placa(),
+                        posicao.status(),
+                        posicao.qrCode()
+                ),
+                new SetorDTO(
+                        posicao.setorId(),
+                        posicao.setorNome(),
+                        posicao.fileira(),
+                        posicao.vaga(),
+                        null
+                )
+        );
+    }
+
+    private LocalizacaoMoto toEntity(LocalizacaoMotoDTO localizacaoMotoDTO) {
+        return LocalizacaoMoto.builder()
+                .id(localizacaoMotoDTO.getId())
+                .dataAtualizada(localizacaoMotoDTO.getDataAtualizada())
+                .build();
+    }
+}
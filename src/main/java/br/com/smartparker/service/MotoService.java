@@ -0,0 +1,183 @@
+package br.com.smartparker.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.smartparker.cache.CacheDependencyIndex;
+import br.com.smartparker.cache.CacheVersions;
+import br.com.smartparker.cache.CachedEntity;
+import br.com.smartparker.cache.CachedJson;
+import br.com.smartparker.cache.CachedJsonFactory;
+import br.com.smartparker.dto.JanelaDTO;
+import br.com.smartparker.dto.MotoDTO;
+import br.com.smartparker.index.BuscaTextualIndex;
+import br.com.smartparker.index.LocalizacaoIndex;
+import br.com.smartparker.model.FormatoExportacao;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.pagination.Cursores;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.service.ExportacaoService.Coluna;
+import br.com.smartparker.specification.MotoSpecification;
+
+/**
+ * Leituras rodam em @Transactional(readOnly = true): o Spring marca a sessão
+ * do Hibernate como read-only (sem snapshots para dirty checking) e com
+ * FlushMode.MANUAL. Escritas atualizam índices e caches só após o commit.
+ */
+@Service
+public class MotoService {
+
+    private static final Sort ORDEM_CURSOR = Sort.by("nome", "id");
+
+    private static final Map<String, Class<?>> CHAVES_CURSOR = Map.of("nome", String.class, "id", Long.class);
+
+    private static final List<Coluna<Moto>> COLUNAS_EXPORTACAO = List.of(
+            new Coluna<>("id", Moto::getId),
+            new Coluna<>("nome", Moto::getNome),
+            new Coluna<>("fabricante", Moto::getFabricante),
+            new Coluna<>("cilindrada", Moto::getCilindrada),
+            new Coluna<>("placa", Moto::getPlaca),
+            new Coluna<>("status", Moto::getStatus),
+            new Coluna<>("qrCode", Moto::getQrCode));
+
+    @Autowired
+    private MotoRepository repository;
+
+    @Autowired
+    private CacheVersions cacheVersions;
+
+    @Autowired
+    private CachedJsonFactory cachedJson;
+
+    @Autowired
+    private CacheDependencyIndex dependencias;
+
+    @Autowired
+    private LocalizacaoIndex localizacaoIndex;
+
+    @Autowired
+    private BuscaTextualIndex buscaTextualIndex;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "motos", keyGenerator = "listagemKeyGenerator", sync = true)
+    public CachedJson listar(MotoFilter filter, Pageable pageable, boolean contar) {
+        var spec = MotoSpecification.withFilters(filter, buscaTextualIndex);
+        if (!contar) {
+            return cachedJson.criar(Cursores.fatia(repository, spec, pageable).map(this::toDTO));
+        }
+        return cachedJson.criar(repository.findAll(spec, pageable).map(this::toDTO));
+    }
+
+    @Transactional(readOnly = true)
+    public JanelaDTO<MotoDTO> listarPorCursor(MotoFilter filter, String cursor, int tamanho) {
+        return Cursores.janela(repository, MotoSpecification.withFilters(filter, buscaTextualIndex), List.of(),
+                ORDEM_CURSOR, CHAVES_CURSOR, cursor, tamanho, this::toDTO);
+    }
+
+    public StreamingResponseBody exportar(MotoFilter filter, FormatoExportacao formato) {
+        return exportacaoService.exportar(Moto.class, MotoSpecification.withFilters(filter, buscaTextualIndex),
+                COLUNAS_EXPORTACAO, formato);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "motos", key = "#id", sync = true)
+    public MotoDTO buscar(Long id) {
+        return repository.findById(id).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
+    }
+
+    @Transactional
+    @CachePut(value = "motos", key = "#result.id")
+    public MotoDTO criar(MotoDTO motoDTO) {
+        buscaTextualIndex.escritaPendente();
+        Moto salva = repository.save(toEntity(motoDTO));
+        AposCommit.executar(() -> {
+            buscaTextualIndex.indexarMoto(salva);
+            cacheVersions.invalidarPaginas("motos");
+        });
+        return toDTO(salva);
+    }
+
+    @Transactional
+    @CachePut(value = "motos", key = "#id")
+    public MotoDTO atualizar(Long id, MotoDTO motoDTO) {
+        buscaTextualIndex.escritaPendente();
+        return repository.findById(id).map(existing -> {
+            boolean mudouBuscaUsuario = !Objects.equals(existing.getNome(), motoDTO.getNome())
+                    || !Objects.equals(existing.getPlaca(), motoDTO.getPlaca());
+
+            existing.setNome(motoDTO.getNome());
+            existing.setFabricante(motoDTO.getFabricante());
+            existing.setCilindrada(motoDTO.getCilindrada());
+            existing.setPlaca(motoDTO.getPlaca());
+            existing.setStatus(motoDTO.getStatus());
+            existing.setQrCode(motoDTO.getQrCode());
+            Moto salva = repository.save(existing);
+            AposCommit.executar(() -> {
+                localizacaoIndex.atualizarMoto(salva);
+                buscaTextualIndex.indexarMoto(salva);
+                cacheVersions.invalidarPaginas("motos");
+                dependencias.invalidar(CachedEntity.MOTO, id);
+                if (mudouBuscaUsuario) {
+                    // Páginas de usuários filtradas por nome/placa da moto podem ganhar ou perder itens
+                    cacheVersions.invalidarPaginas("usuarios");
+                }
+            });
+            return toDTO(salva);
+        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
+    }
+
+    @Transactional
+    @CacheEvict(value = "motos", key = "#id")
+    public void excluir(Long id) {
+        buscaTextualIndex.escritaPendente();
+        repository.deleteById(id);
+        AposCommit.executar(() -> {
+            localizacaoIndex.removerMoto(id);
+            buscaTextualIndex.removerMoto(id);
+            cacheVersions.invalidarPaginas("motos");
+            dependencias.invalidar(CachedEntity.MOTO, id);
+        });
+    }
+
+    private MotoDTO toDTO(Moto moto) {
+        return new MotoDTO(
+                moto.getId(),
+                moto.getNome(),
+                moto.getFabricante(),
+                moto.getCilindrada(),
+                moto.getPlaca(),
+                moto.getStatus(),
+                moto.getQrCode()
+        );
+    }
+
+    private Moto toEntity(MotoDTO motoDTO) {
+        return Moto.builder()
+                .id(motoDTO.getId())
+                .nome(motoDTO.getNome())
+                .fabricante(motoDTO.getFabricante())
+                .cilindrada(motoDTO.getCilindrada())
+                .placa(motoDTO.getPlaca())
+                .status(motoDTO.getStatus())
+                .qrCode(motoDTO.getQrCode())
+                .build();
+    }
+}
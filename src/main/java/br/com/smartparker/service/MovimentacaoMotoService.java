@@ -0,0 +1,37 @@
+package br.com.smartparker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.smartparker.dto.MovimentacaoMotoDTO;
+import br.com.smartparker.model.MovimentacaoMoto;
+import br.com.smartparker.model.MovimentacaoMotoFilter;
+import br.com.smartparker.repository.MovimentacaoMotoRepository;
+import br.com.smartparker.specification.MovimentacaoMotoSpecification;
+
+@Service
+public class MovimentacaoMotoService {
+
+    @Autowired
+    private MovimentacaoMotoRepository repository;
+
+    @Transactional(readOnly = true)
+    public Page<MovimentacaoMotoDTO> listar(MovimentacaoMotoFilter filter, Pageable pageable) {
+        return repository.findAll(MovimentacaoMotoSpecification.withFilters(filter), pageable).map(this::toDTO);
+    }
+
+    private MovimentacaoMotoDTO toDTO(MovimentacaoMoto movimentacao) {
+        return new MovimentacaoMotoDTO(
+                movimentacao.getId(),
+                movimentacao.getDataMovimentacao(),
+                movimentacao.getTipo(),
+                movimentacao.getMotoId(),
+                movimentacao.getSetorId(),
+                movimentacao.getSetorAnteriorId(),
+                movimentacao.getPatioId()
+        );
+    }
+}
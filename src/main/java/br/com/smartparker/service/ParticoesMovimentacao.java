@@ -0,0 +1,50 @@
+package br.com.smartparker.service;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém as partições mensais de movimentacao_moto no PostgreSQL
+ * (db/vendor/postgresql/V2_3). No startup e uma vez por dia garante a
+ * partição do mês corrente e dos próximos; gravações num mês sem partição
+ * não falham, caem na partição padrão e são movidas quando a do mês é criada.
+ */
+@Component
+@ConditionalOnProperty(name = "smartparker.historico.particoes", havingValue = "true")
+@Slf4j
+public class ParticoesMovimentacao {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${smartparker.historico.particoes-a-frente:3}")
+    private int mesesAFrente;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${smartparker.historico.particoes-cron:0 0 3 * * *}")
+    public void criarParticoes() {
+        LocalDate mesCorrente = LocalDate.now().withDayOfMonth(1);
+        for (int i = 0; i <= mesesAFrente; i++) {
+            LocalDate mes = mesCorrente.plusMonths(i);
+            Boolean criada = transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("select criar_particao_movimentacao(?)", Boolean.class, mes));
+            if (Boolean.TRUE.equals(criada)) {
+                log.info("Particao de movimentacoes criada para {}", mes);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.smartparker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.smartparker.cache.CacheDependencyIndex;
+import br.com.smartparker.cache.CacheVersions;
+import br.com.smartparker.cache.CachedEntity;
+import br.com.smartparker.cache.CachedJson;
+import br.com.smartparker.cache.CachedJsonFactory;
+import br.com.smartparker.dto.PatioDTO;
+import br.com.smartparker.index.BuscaTextualIndex;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.PatioFilter;
+import br.com.smartparker.repository.PatioRepository;
+import br.com.smartparker.specification.PatioSpecification;
+
+@Service
+public class PatioService {
+
+    @Autowired
+    private PatioRepository repository;
+
+    @Autowired
+    private CacheVersions cacheVersions;
+
+    @Autowired
+    private CachedJsonFactory cachedJson;
+
+    @Autowired
+    private CacheDependencyIndex dependencias;
+
+    @Autowired
+    private BuscaTextualIndex buscaTextualIndex;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "patios", keyGenerator = "listagemKeyGenerator", sync = true)
+    public CachedJson listar(PatioFilter filter, Pageable pageable) {
+        return cachedJson.criar(repository.findAll(
+                PatioSpecification.withFilters(filter, buscaTextualIndex), pageable).map(this::toDTO));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "patios", key = "#id", sync = true)
+    public PatioDTO buscar(Long id) {
+        return repository.findById(id).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pátio não encontrado."));
+    }
+
+    @Transactional
+    @CachePut(value = "patios", key = "#result.id")
+    public PatioDTO criar(PatioDTO patioDTO) {
+        buscaTextualIndex.escritaPendente();
+        Patio salvo = repository.save(toEntity(patioDTO));
+        AposCommit.executar(() -> {
+            buscaTextualIndex.indexarPatio(salvo);
+            cacheVersions.invalidarPaginas("patios");
+        });
+        return toDTO(salvo);
+    }
+
+    @Transactional
+    @CachePut(value = "patios", key = "#id")
+    public PatioDTO atualizar(Long id, PatioDTO patioDTO) {
+        buscaTextualIndex.escritaPendente();
+        return repository.findById(id).map(existing -> {
+            existing.setNome(patioDTO.getNome());
+            existing.setLocalizacao(patioDTO.getLocalizacao());
+            Patio salvo = repository.save(existing);
+            AposCommit.executar(() -> {
+                buscaTextualIndex.indexarPatio(salvo);
+                cacheVersions.invalidarPaginas("patios");
+                dependencias.invalidar(CachedEntity.PATIO, id);
+            });
+            return toDTO(salvo);
+        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pátio não encontrado."));
+    }
+
+    @Transactional
+    @CacheEvict(value = "patios", key = "#id")
+    public void excluir(Long id) {
+        buscaTextualIndex.escritaPendente();
+        repository.deleteById(id);
+        AposCommit.executar(() -> {
+            buscaTextualIndex.removerPatio(id);
+            cacheVersions.invalidarPaginas("patios");
+            dependencias.invalidar(CachedEntity.PATIO, id);
+        });
+    }
+
+    private PatioDTO toDTO(Patio patio) {
+        return new PatioDTO(
+                patio.getId(),
+                patio.getNome(),
+                patio.getLocalizacao()
+        );
+    }
+
+    private Patio toEntity(PatioDTO patioDTO) {
+        return Patio.builder()
+                .id(patioDTO.getId())
+                .nome(patioDTO.getNome())
+                .localizacao(patioDTO.getLocalizacao())
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.smartparker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.smartparker.cache.CacheDependencyIndex;
+import br.com.smartparker.cache.CacheVersions;
+import br.com.smartparker.cache.CachedEntity;
+import br.com.smartparker.cache.CachedJson;
+import br.com.smartparker.cache.CachedJsonFactory;
+import br.com.smartparker.dto.PatioDTO;
+import br.com.smartparker.dto.SetorDTO;
+import br.com.smartparker.index.BuscaTextualIndex;
+import br.com.smartparker.index.LocalizacaoIndex;
+import br.com.smartparker.index.OcupacaoIndex;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.model.SetorFilter;
+import br.com.smartparker.repository.PatioRepository;
+import br.com.smartparker.repository.SetorRepository;
+import br.com.smartparker.specification.SetorSpecification;
+
+@Service
+public class SetorService {
+
+    @Autowired
+    private SetorRepository repository;
+
+    @Autowired
+    private PatioRepository patioRepository;
+
+    @Autowired
+    private CacheVersions cacheVersions;
+
+    @Autowired
+    private CachedJsonFactory cachedJson;
+
+    @Autowired
+    private CacheDependencyIndex dependencias;
+
+    @Autowired
+    private LocalizacaoIndex localizacaoIndex;
+
+    @Autowired
+    private OcupacaoIndex ocupacaoIndex;
+
+    @Autowired
+    private BuscaTextualIndex buscaTextualIndex;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "setores", keyGenerator = "listagemKeyGenerator", sync = true)
+    public CachedJson listar(SetorFilter filter, Pageable pageable) {
+        return cachedJson.criar(repository.findAll(
+                SetorSpecification.withFilters(filter, buscaTextualIndex), pageable).map(this::toDTO));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "setores", key = "#id", sync = true)
+    public SetorDTO buscar(Long id) {
+        return repository.findById(id).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Setor não encontrado."));
+    }
+
+    @Transactional
+    @CachePut(value = "setores", key = "#result.id")
+    public SetorDTO criar(SetorDTO setorDTO) {
+        buscaTextualIndex.escritaPendente();
+        Patio patio = patioRepository.findById(setorDTO.getPatio().getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pátio não encontrado."));
+        Setor setor = toEntity(setorDTO);
+        setor.setPatio(patio);
+        Setor salvo = repository.save(setor);
+        AposCommit.executar(() -> {
+            ocupacaoIndex.registrarSetor(salvo);
+            buscaTextualIndex.indexarSetor(salvo);
+            cacheVersions.invalidarPaginas("setores");
+        });
+        return toDTO(salvo);
+    }
+
+    @Transactional
+    @CachePut(value = "setores", key = "#id")
+    public SetorDTO atualizar(Long id, SetorDTO setorDTO) {
+        buscaTextualIndex.escritaPendente();
+        return repository.findById(id).map(existing -> {
+            existing.setNome(setorDTO.getNome());
+            existing.setFileira(setorDTO.getFileira());
+            existing.setVaga(setorDTO.getVaga());
+            Patio patio = patioRepository.findById(setorDTO.getPatio().getId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Pátio não encontrado."));
+            existing.setPatio(patio);
+            Setor salvo = repository.save(existing);
+            AposCommit.executar(() -> {
+                localizacaoIndex.atualizarSetor(salvo);
+                ocupacaoIndex.registrarSetor(salvo);
+                buscaTextualIndex.indexarSetor(salvo);
+                cacheVersions.invalidarPaginas("setores");
+                dependencias.invalidar(CachedEntity.SETOR, id);
+            });
+            return toDTO(salvo);
+        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Setor não encontrado."));
+    }
+
+    @Transactional
+    @CacheEvict(value = "setores", key = "#id")
+    public void excluir(Long id) {
+        buscaTextualIndex.escritaPendente();
+        repository.deleteById(id);
+        AposCommit.executar(() -> {
+            ocupacaoIndex.removerSetor(id);
+            buscaTextualIndex.removerSetor(id);
+            cacheVersions.invalidarPaginas("setores");
+            dependencias.invalidar(CachedEntity.SETOR, id);
+        });
+    }
+
+    private SetorDTO toDTO(Setor setor) {
+        return new SetorDTO(
+                setor.getId(),
+                setor.getNome(),
+                setor.getFileira(),
+                setor.getVaga(),
+                new PatioDTO(
+                        setor.getPatio().getId(),
+                        setor.getPatio().getNome(),
+                        setor.getPatio().getLocalizacao()
+                )
+        );
+    }
+
+    private Setor toEntity(SetorDTO setorDTO) {
+        return Setor.builder()
+                .id(setorDTO.getId())
+                .nome(setorDTO.getNome())
+                .fileira(setorDTO.getFileira())
+                .vaga(setorDTO.getVaga())
+                .build();
+    }
+}
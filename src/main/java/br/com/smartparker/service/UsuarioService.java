@@ -0,0 +1,141 @@
+package br.com.smartparker.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.smartparker.cache.CacheVersions;
+import br.com.smartparker.cache.CachedJson;
+import br.com.smartparker.cache.CachedJsonFactory;
+import br.com.smartparker.dto.MotoDTO;
+import br.com.smartparker.dto.UsuarioDTO;
+import br.com.smartparker.index.BuscaTextualIndex;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Usuario;
+import br.com.smartparker.model.UsuarioFilter;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.repository.UsuarioRepository;
+import br.com.smartparker.specification.UsuarioSpecification;
+
+@Service
+public class UsuarioService {
+
+    @Autowired
+    private UsuarioRepository repository;
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private CacheVersions cacheVersions;
+
+    @Autowired
+    private CachedJsonFactory cachedJson;
+
+    @Autowired
+    private BuscaTextualIndex buscaTextualIndex;
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "usuarios", keyGenerator = "listagemKeyGenerator", sync = true)
+    public CachedJson listar(UsuarioFilter filter, Pageable pageable) {
+        return cachedJson.criar(repository.findAll(
+                UsuarioSpecification.withFilters(filter, buscaTextualIndex), pageable).map(this::toDTO));
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "usuarios", key = "#id", sync = true)
+    public UsuarioDTO buscar(Long id) {
+        return repository.findById(id).map(this::toDTO)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuário não encontrado."));
+    }
+
+    @Transactional
+    @CachePut(value = "usuarios", key = "#result.id")
+    public UsuarioDTO criar(UsuarioDTO usuarioDTO) {
+        buscaTextualIndex.escritaPendente();
+        Usuario usuario = toEntity(usuarioDTO);
+        if (usuarioDTO.getMoto() != null && usuarioDTO.getMoto().getId() != null) {
+            usuario.setMoto(buscarMoto(usuarioDTO.getMoto().getId()));
+        }
+
+        Usuario salvo = repository.save(usuario);
+        AposCommit.executar(() -> {
+            buscaTextualIndex.indexarUsuario(salvo);
+            cacheVersions.invalidarPaginas("usuarios");
+        });
+        return toDTO(salvo);
+    }
+
+    @Transactional
+    @CachePut(value = "usuarios", key = "#id")
+    public UsuarioDTO atualizar(Long id, UsuarioDTO usuarioDTO) {
+        buscaTextualIndex.escritaPendente();
+        return repository.findById(id).map(existing -> {
+            existing.setNome(usuarioDTO.getNome());
+            existing.setEmail(usuarioDTO.getEmail());
+            existing.setCpf(usuarioDTO.getCpf());
+
+            if (usuarioDTO.getMoto() != null && usuarioDTO.getMoto().getId() != null) {
+                existing.setMoto(buscarMoto(usuarioDTO.getMoto().getId()));
+            } else {
+                existing.setMoto(null);
+            }
+
+            Usuario salvo = repository.save(existing);
+            AposCommit.executar(() -> {
+                buscaTextualIndex.indexarUsuario(salvo);
+                cacheVersions.invalidarPaginas("usuarios");
+            });
+            return toDTO(salvo);
+        }).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuário não encontrado."));
+    }
+
+    @Transactional
+    @CacheEvict(value = "usuarios", key = "#id")
+    public void excluir(Long id) {
+        buscaTextualIndex.escritaPendente();
+        repository.deleteById(id);
+        AposCommit.executar(() -> {
+            buscaTextualIndex.removerUsuario(id);
+            cacheVersions.invalidarPaginas("usuarios");
+        });
+    }
+
+    private Moto buscarMoto(Long motoId) {
+        return motoRepository.findById(motoId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Moto não encontrada."));
+    }
+
+    private UsuarioDTO toDTO(Usuario usuario) {
+        return new UsuarioDTO(
+                usuario.getId(),
+                usuario.getNome(),
+                usuario.getEmail(),
+                usuario.getCpf(),
+                usuario.getMoto() != null ? new MotoDTO(
+                        usuario.getMoto().getId(),
+                        usuario.getMoto().getNome(),
+                        usuario.getMoto().getFabricante(),
+                        usuario.getMoto().getCilindrada(),
+                        usuario.getMoto().getPlaca(),
+                        usuario.getMoto().getStatus(),
+                        usuario.getMoto().getQrCode()
+                ) : null
+        );
+    }
+
+    private Usuario toEntity(UsuarioDTO usuarioDTO) {
+        return Usuario.builder()
+                .id(usuarioDTO.getId())
+                .nome(usuarioDTO.getNome())
+                .email(usuarioDTO.getEmail())
+                .cpf(usuarioDTO.getCpf())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.smartparker.specification;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+import br.com.smartparker.model.ModoBusca;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Predicados de texto compartilhados pelas Specifications.
+ *
+ * Campos estruturados (placa, CPF, QR code, status, email) sem modo informado
+ * continuam como sempre foram: contém, sem diferenciar maiúsculas. EXATO e
+ * PREFIXO são opcionais e comparam o valor direto na coluna, sem lower(), para
+ * usar o índice B-tree; quem chama normaliza o valor como a coluna é gravada
+ * (placa em maiúsculas, email com lower() dos dois lados).
+ * Campos de texto livre usam, no modo CONTEM, os candidatos do índice
+ * de n-gramas e só confirmam com LIKE dentro desse conjunto. Quando o índice
+ * não garante o conjunto completo (aquecendo, escrita em andamento, desligado)
+ * ele não devolve candidatos e fica só o LIKE.
+ */
+final class Busca {
+
+    // Acima disso o IN deixa de ser seletivo e o LIKE sozinho sai mais barato
+    private static final int MAXIMO_CANDIDATOS = 1_000;
+
+    private Busca() {
+    }
+
+    static Predicate estruturado(CriteriaBuilder cb, Expression<String> coluna, String valor, ModoBusca modo) {
+        return switch (modo != null ? modo : ModoBusca.CONTEM) {
+            case EXATO -> cb.equal(coluna, valor);
+            case PREFIXO -> cb.like(coluna, escapar(valor) + "%", '\\');
+            case CONTEM -> contem(cb, coluna, valor);
+        };
+    }
+
+    static Predicate textual(CriteriaBuilder cb, Expression<Long> id, Expression<String> coluna, String valor,
+            ModoBusca modo, BuscaTextual busca, CampoTexto campo) {
+        return switch (modo != null ? modo : ModoBusca.CONTEM) {
+            case EXATO -> cb.equal(cb.lower(coluna), valor.toLowerCase(Locale.ROOT));
+            case PREFIXO -> cb.like(cb.lower(coluna), escapar(valor.toLowerCase(Locale.ROOT)) + "%", '\\');
+            case CONTEM -> {
+                Optional<Set<Long>> candidatos = busca.candidatos(campo, valor);
+                if (candidatos.isEmpty() || candidatos.get().size() > MAXIMO_CANDIDATOS) {
+                    yield contem(cb, coluna, valor);
+                }
+                if (candidatos.get().isEmpty()) {
+                    yield cb.disjunction();
+                }
+                yield cb.and(id.in(candidatos.get()), contem(cb, coluna, valor));
+            }
+        };
+    }
+
+    private static Predicate contem(CriteriaBuilder cb, Expression<String> coluna, String valor) {
+        return cb.like(cb.lower(coluna), "%" + escapar(valor.toLowerCase(Locale.ROOT)) + "%", '\\');
+    }
+
+    private static String escapar(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.smartparker.specification;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Fonte de candidatos para buscas "contém" em texto livre. Devolve os IDs que
+ * podem conter o termo (um superconjunto) ou vazio quando não consegue
+ * restringir, e aí a Specification cai no LIKE.
+ */
+@FunctionalInterface
+public interface BuscaTextual {
+
+    BuscaTextual SEM_INDICE = (campo, termo) -> Optional.empty();
+
+    Optional<Set<Long>> candidatos(CampoTexto campo, String termo);
+}
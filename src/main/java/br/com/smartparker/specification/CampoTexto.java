@@ -0,0 +1,11 @@
+package br.com.smartparker.specification;
+
+// Campos de texto livre atendidos pelo índice de n-gramas
+public enum CampoTexto {
+    MOTO_NOME,
+    MOTO_FABRICANTE,
+    USUARIO_NOME,
+    PATIO_NOME,
+    PATIO_LOCALIZACAO,
+    SETOR_NOME
+}
@@ -7,6 +7,9 @@ import org.springframework.data.jpa.domain.Specification;
 
 import br.com.smartparker.model.LocalizacaoMoto;
 import br.com.smartparker.model.LocalizacaoMotoFilter;
+import br.com.smartparker.model.LocalizacaoMoto_;
+import br.com.smartparker.model.Moto_;
+import br.com.smartparker.model.Setor_;
 import jakarta.persistence.criteria.Predicate;
 
 public class LocalizacaoMotoSpecification {
@@ -17,21 +20,21 @@ public class LocalizacaoMotoSpecification {
 
             // Filtro por data (intervalo de datas)
             if (filter.dataInicio() != null && filter.dataFim() != null) {
-                predicates.add(cb.between(root.get("dataAtualizada"), filter.dataInicio(), filter.dataFim()));
+                predicates.add(cb.between(root.get(LocalizacaoMoto_.dataAtualizada), filter.dataInicio(), filter.dataFim()));
             } else if (filter.dataInicio() != null) {
-                predicates.add(cb.greaterThanOrEqualTo(root.get("dataAtualizada"), filter.dataInicio()));
+                predicates.add(cb.greaterThanOrEqualTo(root.get(LocalizacaoMoto_.dataAtualizada), filter.dataInicio()));
             } else if (filter.dataFim() != null) {
-                predicates.add(cb.lessThanOrEqualTo(root.get("dataAtualizada"), filter.dataFim()));
+                predicates.add(cb.lessThanOrEqualTo(root.get(LocalizacaoMoto_.dataAtualizada), filter.dataFim()));
             }
 
             // Filtro por Moto
             if (filter.moto() != null && filter.moto().getId() != null) {
-                predicates.add(cb.equal(root.get("moto").get("id"), filter.moto().getId()));
+                predicates.add(cb.equal(root.get(LocalizacaoMoto_.moto).get(Moto_.id), filter.moto().getId()));
             }
 
             // Filtro por Setor
             if (filter.setor() != null && filter.setor().getId() != null) {
-                predicates.add(cb.equal(root.get("setor").get("id"), filter.setor().getId()));
+                predicates.add(cb.equal(root.get(LocalizacaoMoto_.setor).get(Setor_.id), filter.setor().getId()));
             }
 
             var arrayPredicates = predicates.toArray(new Predicate[0]);
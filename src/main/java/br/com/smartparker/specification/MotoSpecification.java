@@ -2,41 +2,46 @@ package br.com.smartparker.specification;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import org.springframework.data.jpa.domain.Specification;
 
 import br.com.smartparker.model.Moto;
 import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.model.Moto_;
 import jakarta.persistence.criteria.Predicate;
 
 public class MotoSpecification {
 
     public static Specification<Moto> withFilters(MotoFilter filter) {
+        return withFilters(filter, BuscaTextual.SEM_INDICE);
+    }
+
+    public static Specification<Moto> withFilters(MotoFilter filter, BuscaTextual busca) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // Filtro de nome
             if (filter.nome() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("nome")), "%" + filter.nome().toLowerCase() + "%"));
+                predicates.add(Busca.textual(cb, root.get(Moto_.id), root.get(Moto_.nome), filter.nome(),
+                        filter.modo(), busca, CampoTexto.MOTO_NOME));
             }
 
             // Filtro de fabricante
             if (filter.fabricante() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("fabricante")), "%" + filter.fabricante().toLowerCase() + "%"));
+                predicates.add(Busca.textual(cb, root.get(Moto_.id), root.get(Moto_.fabricante), filter.fabricante(),
+                        filter.modo(), busca, CampoTexto.MOTO_FABRICANTE));
             }
 
-            // Filtro de placa
+            // Filtro de placa (gravada em maiúsculas)
             if (filter.placa() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("placa")), "%" + filter.placa().toLowerCase() + "%"));
+                predicates.add(Busca.estruturado(cb, root.get(Moto_.placa),
+                        filter.placa().toUpperCase(Locale.ROOT), filter.modo()));
             }
 
             // Filtro de status
             if (filter.status() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("status")), "%" + filter.status().toLowerCase() + "%"));
+                predicates.add(Busca.estruturado(cb, root.get(Moto_.status), filter.status(), filter.modo()));
             }
 
             var arrayPredicates = predicates.toArray(new Predicate[0]);
@@ -0,0 +1,52 @@
+package br.com.smartparker.specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.smartparker.model.MovimentacaoMoto;
+import br.com.smartparker.model.MovimentacaoMotoFilter;
+import jakarta.persistence.criteria.Predicate;
+
+public class MovimentacaoMotoSpecification {
+
+    public static Specification<MovimentacaoMoto> withFilters(MovimentacaoMotoFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            // Filtro por intervalo: o dia restringe a partição, a data refina dentro dela
+            if (filter.inicio() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dia"), filter.inicio().toLocalDate()));
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dataMovimentacao"), filter.inicio()));
+            }
+            if (filter.fim() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dia"), filter.fim().toLocalDate()));
+                predicates.add(cb.lessThanOrEqualTo(root.get("dataMovimentacao"), filter.fim()));
+            }
+
+            // Filtro por moto
+            if (filter.motoId() != null) {
+                predicates.add(cb.equal(root.get("motoId"), filter.motoId()));
+            }
+
+            // Filtro por setor
+            if (filter.setorId() != null) {
+                predicates.add(cb.equal(root.get("setorId"), filter.setorId()));
+            }
+
+            // Filtro por pátio
+            if (filter.patioId() != null) {
+                predicates.add(cb.equal(root.get("patioId"), filter.patioId()));
+            }
+
+            // Filtro por tipo
+            if (filter.tipo() != null) {
+                predicates.add(cb.equal(root.get("tipo"), filter.tipo()));
+            }
+
+            var arrayPredicates = predicates.toArray(new Predicate[0]);
+            return cb.and(arrayPredicates);
+        };
+    }
+}
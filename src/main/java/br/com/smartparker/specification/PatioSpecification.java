@@ -7,28 +7,33 @@ import org.springframework.data.jpa.domain.Specification;
 
 import br.com.smartparker.model.Patio;
 import br.com.smartparker.model.PatioFilter;
+import br.com.smartparker.model.Patio_;
 import jakarta.persistence.criteria.Predicate;
 
 public class PatioSpecification {
 
     public static Specification<Patio> withFilters(PatioFilter filter) {
+        return withFilters(filter, BuscaTextual.SEM_INDICE);
+    }
+
+    public static Specification<Patio> withFilters(PatioFilter filter, BuscaTextual busca) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // Filtro de nome
             if (filter.nome() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("nome")), "%" + filter.nome().toLowerCase() + "%"));
+                predicates.add(Busca.textual(cb, root.get(Patio_.id), root.get(Patio_.nome), filter.nome(),
+                        filter.modo(), busca, CampoTexto.PATIO_NOME));
             }
 
             // Filtro de localizacao
             if (filter.localizacao() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("localizacao")), "%" + filter.localizacao().toLowerCase() + "%"));
+                predicates.add(Busca.textual(cb, root.get(Patio_.id), root.get(Patio_.localizacao), filter.localizacao(),
+                        filter.modo(), busca, CampoTexto.PATIO_LOCALIZACAO));
             }
 
             var arrayPredicates = predicates.toArray(new Predicate[0]);
             return cb.and(arrayPredicates);
         };
     }
-}
\ No newline at end of file
+}
@@ -7,30 +7,41 @@ import org.springframework.data.jpa.domain.Specification;
 
 import br.com.smartparker.model.Setor;
 import br.com.smartparker.model.SetorFilter;
+import br.com.smartparker.model.Patio_;
+import br.com.smartparker.model.Setor_;
 import jakarta.persistence.criteria.Predicate;
 
 public class SetorSpecification {
     
     public static Specification<Setor> withFilters(SetorFilter filter) {
+        return withFilters(filter, BuscaTextual.SEM_INDICE);
+    }
+
+    public static Specification<Setor> withFilters(SetorFilter filter, BuscaTextual busca) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // Filtro de nome
             if (filter.nome() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("nome")), "%" + filter.nome().toLowerCase() + "%"));
+                predicates.add(Busca.textual(cb, root.get(Setor_.id), root.get(Setor_.nome), filter.nome(),
+                        filter.modo(), busca, CampoTexto.SETOR_NOME));
             }
 
             // Filtro de fileira
             if (filter.fileira() != null) {
                 predicates.add(cb.equal(
-                        root.get("fileira"), filter.fileira()));
+                        root.get(Setor_.fileira), filter.fileira()));
             }
 
             // Filtro de vaga
             if (filter.vaga() != null) {
                 predicates.add(cb.equal(
-                        root.get("vaga"), filter.vaga()));
+                        root.get(Setor_.vaga), filter.vaga()));
+            }
+
+            // Filtro de pátio
+            if (filter.patio() != null && filter.patio().getId() != null) {
+                predicates.add(cb.equal(root.get(Setor_.patio).get(Patio_.id), filter.patio().getId()));
             }
 
             var arrayPredicates = predicates.toArray(new Predicate[0]);
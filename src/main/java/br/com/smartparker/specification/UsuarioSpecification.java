@@ -2,6 +2,7 @@ package br.com.smartparker.specification;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import org.springframework.data.jpa.domain.Specification;
 
@@ -9,43 +10,48 @@ import org.springframework.data.jpa.domain.Specification;
 import jakarta.persistence.criteria.Predicate;
 import br.com.smartparker.model.Usuario;
 import br.com.smartparker.model.UsuarioFilter;
+import br.com.smartparker.model.Moto_;
+import br.com.smartparker.model.Usuario_;
 
 public class UsuarioSpecification {
     
     public static Specification<Usuario> withFilters(UsuarioFilter filter) {
+        return withFilters(filter, BuscaTextual.SEM_INDICE);
+    }
+
+    public static Specification<Usuario> withFilters(UsuarioFilter filter, BuscaTextual busca) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // Filtro de nome
             if (filter.nome() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("nome")), "%" + filter.nome().toLowerCase() + "%"));
+                predicates.add(Busca.textual(cb, root.get(Usuario_.id), root.get(Usuario_.nome), filter.nome(),
+                        filter.modo(), busca, CampoTexto.USUARIO_NOME));
             }
 
-            // Filtro de email
+            // Filtro de email: não diferencia maiúsculas em nenhum modo (no PostgreSQL o índice é em lower(email))
             if (filter.email() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("email")), "%" + filter.email().toLowerCase() + "%"));
+                predicates.add(Busca.estruturado(cb, cb.lower(root.get(Usuario_.email)),
+                        filter.email().toLowerCase(Locale.ROOT), filter.modo()));
             }
 
             // Filtro de CPF
             if (filter.cpf() != null) {
-                predicates.add(cb.like(cb.lower(
-                        root.get("cpf")), "%" + filter.cpf().toLowerCase() + "%"));
+                predicates.add(Busca.estruturado(cb, root.get(Usuario_.cpf), filter.cpf(), filter.modo()));
             }
 
             // Filtro de moto
             if (filter.moto() != null) {
                 if (filter.moto().getId() != null) {
-                    predicates.add(cb.equal(root.get("moto").get("id"), filter.moto().getId()));
+                    predicates.add(cb.equal(root.get(Usuario_.moto).get(Moto_.id), filter.moto().getId()));
                 }
                 if (filter.moto().getNome() != null) {
-                    predicates.add(cb.like(cb.lower(
-                            root.get("moto").get("nome")), "%" + filter.moto().getNome().toLowerCase() + "%"));
+                    predicates.add(Busca.textual(cb, root.get(Usuario_.moto).get(Moto_.id),
+                            root.get(Usuario_.moto).get(Moto_.nome), filter.moto().getNome(), filter.modo(), busca, CampoTexto.MOTO_NOME));
                 }
                 if (filter.moto().getPlaca() != null) {
-                    predicates.add(cb.like(cb.lower(
-                            root.get("moto").get("placa")), "%" + filter.moto().getPlaca().toLowerCase() + "%"));
+                    predicates.add(Busca.estruturado(cb, root.get(Usuario_.moto).get(Moto_.placa),
+                            filter.moto().getPlaca().toUpperCase(Locale.ROOT), filter.modo()));
                 }
             }
 
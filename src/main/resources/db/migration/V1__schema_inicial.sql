@@ -0,0 +1,92 @@
+-- Schema inicial (equivalente ao que o ddl-auto gerava) + índices das colunas usadas nos filtros das Specifications
+
+create sequence patio_seq start with 1 increment by 50;
+create sequence setor_seq start with 1 increment by 50;
+create sequence moto_seq start with 1 increment by 50;
+create sequence usuario_seq start with 1 increment by 50;
+create sequence localizacao_moto_seq start with 1 increment by 50;
+create sequence movimentacao_moto_seq start with 1 increment by 50;
+
+create table patio (
+    id bigint not null,
+    nome varchar(30) not null,
+    localizacao varchar(100) not null,
+    primary key (id)
+);
+
+create table setor (
+    id bigint not null,
+    nome varchar(30) not null,
+    fileira integer not null,
+    vaga integer not null,
+    patio_id bigint not null,
+    primary key (id),
+    constraint fk_setor_patio foreign key (patio_id) references patio (id)
+);
+
+create table moto (
+    id bigint not null,
+    nome varchar(50) not null,
+    fabricante varchar(30) not null,
+    cilindrada integer not null check (cilindrada >= 100 and cilindrada <= 1000),
+    placa varchar(255) not null,
+    status varchar(255) not null,
+    qr_code varchar(255),
+    primary key (id),
+    constraint uk_moto_placa unique (placa),
+    constraint uk_moto_qr_code unique (qr_code)
+);
+
+create table usuario (
+    id bigint not null,
+    nome varchar(100) not null,
+    email varchar(255) not null,
+    cpf varchar(255) not null,
+    moto_id bigint,
+    primary key (id),
+    constraint uk_usuario_email unique (email),
+    constraint uk_usuario_cpf unique (cpf),
+    -- A unique de moto_id já cria o índice usado pelo filtro de usuário por moto
+    constraint uk_usuario_moto unique (moto_id),
+    constraint fk_usuario_moto foreign key (moto_id) references moto (id)
+);
+
+create table localizacao_moto (
+    id bigint not null,
+    data_atualizada timestamp(6),
+    moto_id bigint,
+    setor_id bigint,
+    primary key (id),
+    constraint uk_localizacao_moto_moto unique (moto_id),
+    constraint fk_localizacao_moto_moto foreign key (moto_id) references moto (id),
+    constraint fk_localizacao_moto_setor foreign key (setor_id) references setor (id)
+);
+
+create table movimentacao_moto (
+    id bigint not null,
+    dia date,
+    data_movimentacao timestamp(6),
+    tipo varchar(20),
+    moto_id bigint,
+    setor_id bigint,
+    setor_anterior_id bigint,
+    patio_id bigint,
+    primary key (id)
+);
+
+-- MotoSpecification: status e fabricante
+create index idx_moto_status on moto (status);
+create index idx_moto_fabricante on moto (fabricante);
+
+-- LocalizacaoMotoSpecification: intervalo de data, sozinho ou dentro de um setor
+create index idx_localizacao_data_atualizada on localizacao_moto (data_atualizada);
+create index idx_localizacao_setor_data on localizacao_moto (setor_id, data_atualizada);
+
+-- SetorSpecification: vaga dentro do pátio, e fileira/vaga sem pátio
+create index idx_setor_patio_fileira_vaga on setor (patio_id, fileira, vaga);
+create index idx_setor_fileira_vaga on setor (fileira, vaga);
+
+-- Histórico: consultas por intervalo filtram pelo dia e depois por moto ou pátio.
+-- No PostgreSQL a tabela também é particionada por dia (db/vendor/postgresql/V2_3); aqui são só índices.
+create index idx_movimentacao_dia_moto on movimentacao_moto (dia, moto_id);
+create index idx_movimentacao_dia_patio on movimentacao_moto (dia, patio_id);
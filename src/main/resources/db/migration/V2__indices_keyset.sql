@@ -0,0 +1,5 @@
+-- Paginação por cursor: a ordenação (coluna, id) precisa estar inteira no índice
+create index idx_moto_nome_id on moto (nome, id);
+
+drop index idx_localizacao_data_atualizada;
+create index idx_localizacao_data_atualizada on localizacao_moto (data_atualizada, id);
@@ -0,0 +1,15 @@
+-- Leituras de QR code que o banco recusou mesmo sozinhas na ingestão assíncrona. Ficam aqui em vez de sumir
+-- depois do 202; a ingestão só isola a leitura quando o resto do lote grava, então não é o banco fora do ar.
+create sequence leitura_rejeitada_seq start with 1 increment by 50;
+
+create table leitura_rejeitada (
+    id bigint not null,
+    moto_id bigint,
+    setor_id bigint,
+    lida_em timestamp(6),
+    registrada_em timestamp(6) not null,
+    erro varchar(500),
+    primary key (id)
+);
+
+create index idx_leitura_rejeitada_registrada on leitura_rejeitada (registrada_em);
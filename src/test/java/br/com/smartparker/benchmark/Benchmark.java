@@ -0,0 +1,15 @@
+package br.com.smartparker.benchmark;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// Benchmarks só rodam com -Dbenchmark=true; no mvn test normal ficam de fora
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@interface Benchmark {
+}
@@ -0,0 +1,185 @@
+package br.com.smartparker.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.ApplicationContext;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.repository.LocalizacaoMotoRepository;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.repository.MovimentacaoMotoRepository;
+import br.com.smartparker.repository.PatioRepository;
+import br.com.smartparker.repository.SetorRepository;
+
+/**
+ * Apoio comum aos benchmarks: massa de dados de um pátio, rodadas HTTP em laço
+ * fechado e o resumo das latências. A saída vai para o console de propósito,
+ * é o resultado que quem roda o benchmark lê.
+ */
+final class Benchmarks {
+
+    static final int SETORES = 50;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Moto com placa e QR code únicos para n até 26³.
+     */
+    static Moto moto(int n) {
+        String placa = "" + letra(n / 676) + letra(n / 26) + letra(n) + (n % 10) + letra(n / 10) + "%02d".formatted(n % 100);
+        return Moto.builder()
+                .nome("Moto " + n)
+                .fabricante("Honda")
+                .cilindrada(160)
+                .placa(placa)
+                .status("Disponível")
+                .qrCode("QR" + n)
+                .build();
+    }
+
+    /**
+     * Um pátio com {@value #SETORES} setores e as motos; com localização, a
+     * moto n fica no setor n % SETORES, atualizada há n minutos.
+     */
+    static Massa popular(ApplicationContext contexto, String patio, int motos, boolean comLocalizacao) {
+        Patio novoPatio = contexto.getBean(PatioRepository.class)
+                .save(Patio.builder().nome(patio).localizacao("Rua " + patio).build());
+        List<Setor> setores = new ArrayList<>(SETORES);
+        for (int i = 1; i <= SETORES; i++) {
+            setores.add(Setor.builder().nome("S" + i).fileira(i).vaga(1).patio(novoPatio).build());
+        }
+        contexto.getBean(SetorRepository.class).saveAll(setores);
+
+        List<Moto> novasMotos = new ArrayList<>(motos);
+        for (int n = 0; n < motos; n++) {
+            novasMotos.add(moto(n));
+        }
+        contexto.getBean(MotoRepository.class).saveAll(novasMotos);
+
+        List<LocalizacaoMoto> localizacoes = new ArrayList<>(comLocalizacao ? motos : 0);
+        if (comLocalizacao) {
+            LocalDateTime agora = LocalDateTime.now();
+            for (int n = 0; n < motos; n++) {
+                localizacoes.add(LocalizacaoMoto.builder().moto(novasMotos.get(n)).setor(setores.get(n % SETORES))
+                        .dataAtualizada(agora.minusMinutes(n)).build());
+            }
+            contexto.getBean(LocalizacaoMotoRepository.class).saveAll(localizacoes);
+        }
+        return new Massa(setores, novasMotos, localizacoes);
+    }
+
+    static void limpar(ApplicationContext contexto) {
+        contexto.getBean(MovimentacaoMotoRepository.class).deleteAllInBatch();
+        contexto.getBean(LocalizacaoMotoRepository.class).deleteAllInBatch();
+        contexto.getBean(MotoRepository.class).deleteAllInBatch();
+        contexto.getBean(SetorRepository.class).deleteAllInBatch();
+        contexto.getBean(PatioRepository.class).deleteAllInBatch();
+    }
+
+    /**
+     * Cada cliente numa thread própria manda suas requisições em sequência;
+     * resposta fora de 2xx ou exceção conta como erro.
+     */
+    static Rodada rodada(HttpClient http, int clientes, int porCliente, Requisicao requisicao) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        AtomicInteger erros = new AtomicInteger();
+        List<Future<long[]>> futuros = new ArrayList<>(clientes);
+        long inicio = System.nanoTime();
+        try {
+            for (int c = 0; c < clientes; c++) {
+                int cliente = c;
+                futuros.add(executor.submit(() -> {
+                    long[] latencias = new long[porCliente];
+                    for (int i = 0; i < porCliente; i++) {
+                        HttpRequest request = requisicao.criar(cliente, i);
+                        long t = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 300) {
+                                erros.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        latencias[i] = System.nanoTime() - t;
+                    }
+                    return latencias;
+                }));
+            }
+
+            long[] todas = new long[clientes * porCliente];
+            int pos = 0;
+            for (Future<long[]> futuro : futuros) {
+                long[] latencias = futuro.get();
+                System.arraycopy(latencias, 0, todas, pos, latencias.length);
+                pos += latencias.length;
+            }
+            return new Rodada(todas, System.nanoTime() - inicio, erros.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    static URI uri(int porta, String caminho) {
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    /**
+     * Em milissegundos; as latências já devem estar ordenadas.
+     */
+    static double percentil(long[] ordenadas, double p) {
+        return ordenadas[Math.min(ordenadas.length - 1, (int) (ordenadas.length * p))] / 1e6;
+    }
+
+    static void imprimir(String formato, Object... argumentos) {
+        System.out.printf(formato + "%n", argumentos);
+    }
+
+    private static char letra(int n) {
+        return (char) ('A' + n % 26);
+    }
+
+    @FunctionalInterface
+    interface Requisicao {
+
+        HttpRequest criar(int cliente, int i);
+    }
+
+    record Massa(List<Setor> setores, List<Moto> motos, List<LocalizacaoMoto> localizacoes) {
+    }
+
+    // Latências em nanos, ordenadas
+    record Rodada(long[] latencias, long nanos, int erros) {
+
+        Rodada {
+            Arrays.sort(latencias);
+        }
+
+        double porSegundo() {
+            return latencias.length / (nanos / 1e9);
+        }
+
+        double p50() {
+            return percentil(latencias, 0.50);
+        }
+
+        double p99() {
+            return percentil(latencias, 0.99);
+        }
+    }
+}
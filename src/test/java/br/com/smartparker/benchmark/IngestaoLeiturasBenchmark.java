@@ -0,0 +1,141 @@
+package br.com.smartparker.benchmark;
+
+import static br.com.smartparker.benchmark.Benchmarks.imprimir;
+import static br.com.smartparker.benchmark.Benchmarks.uri;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+
+import br.com.smartparker.benchmark.Benchmarks.Massa;
+import br.com.smartparker.benchmark.Benchmarks.Rodada;
+import br.com.smartparker.dto.IngestaoStatusDTO;
+import br.com.smartparker.service.IngestaoLeiturasService;
+
+// Rajada de leituras de QR code na troca de turno: 200 leitores enviando leituras uma a uma, cada um nas suas motos.
+// Compara o PUT /localizacoes/{id} síncrono com o POST /localizacoes/leituras (write-behind) e, no segundo,
+// mede também quanto tempo leva até a última leitura estar gravada. Toda leitura aceita tem de acabar aplicada.
+// Rodar com: mvn test -Dtest=IngestaoLeiturasBenchmark -Dbenchmark=true
+@Benchmark
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+class IngestaoLeiturasBenchmark {
+
+    private static final int MOTOS = 2_000;
+
+    private static final int LEITORES = 200;
+
+    private static final int LEITURAS_POR_LEITOR = 50;
+
+    private static final int MOTOS_POR_LEITOR = MOTOS / LEITORES;
+
+    private static final Duration ESPERA_GRAVACAO = Duration.ofMinutes(2);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @Autowired
+    private IngestaoLeiturasService ingestaoService;
+
+    private Massa massa;
+
+    @BeforeEach
+    void popular() {
+        // Toda moto já está no pátio; as leituras são movimentações
+        massa = Benchmarks.popular(contexto, "Leituras", MOTOS, true);
+    }
+
+    @AfterEach
+    void limpar() {
+        Benchmarks.limpar(contexto);
+    }
+
+    @Test
+    void carga() throws Exception {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10)).build();
+
+        // Aquecimento dos dois caminhos
+        Benchmarks.rodada(http, 16, 20, this::put);
+        Benchmarks.rodada(http, 16, 20, this::leitura);
+        aguardarGravacao();
+
+        Rodada sincrono = Benchmarks.rodada(http, LEITORES, LEITURAS_POR_LEITOR, this::put);
+        relatar("PUT /localizacoes/{id}", sincrono);
+
+        IngestaoStatusDTO antes = ingestaoService.status();
+        long inicio = System.nanoTime();
+        Rodada writeBehind = Benchmarks.rodada(http, LEITORES, LEITURAS_POR_LEITOR, this::leitura);
+        relatar("POST /localizacoes/leituras", writeBehind);
+        aguardarGravacao();
+        IngestaoStatusDTO depois = ingestaoService.status();
+        long recebidas = depois.getRecebidas() - antes.getRecebidas();
+        long aplicadas = depois.getAplicadas() - antes.getAplicadas();
+        long lotes = depois.getLotes() - antes.getLotes();
+        imprimir("  gravadas em %.1f s desde a primeira leitura: %d aplicadas em %d lotes (%.0f leituras/lote), rejeitadas=%d falhas=%d",
+                (System.nanoTime() - inicio) / 1e9, aplicadas, lotes, (double) aplicadas / Math.max(1, lotes),
+                depois.getRejeitadas() - antes.getRejeitadas(), depois.getFalhas() - antes.getFalhas());
+
+        assertThat(sincrono.erros()).isZero();
+        assertThat(writeBehind.erros()).isZero();
+        assertThat(recebidas).isEqualTo(LEITORES * LEITURAS_POR_LEITOR);
+        assertThat(aplicadas).isEqualTo(recebidas);
+        assertThat(depois.getPendentes()).isZero();
+    }
+
+    private HttpRequest put(int leitor, int i) {
+        int n = moto(leitor, i);
+        String corpo = "{\"moto\":{\"id\":%d},\"setor\":{\"id\":%d}}".formatted(massa.motos().get(n).getId(), setor(leitor, i));
+        return HttpRequest.newBuilder(uri(porta, "/localizacoes/" + massa.localizacoes().get(n).getId()))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .PUT(HttpRequest.BodyPublishers.ofString(corpo)).build();
+    }
+
+    private HttpRequest leitura(int leitor, int i) {
+        String corpo = "[{\"motoId\":%d,\"setorId\":%d}]".formatted(massa.motos().get(moto(leitor, i)).getId(), setor(leitor, i));
+        return HttpRequest.newBuilder(uri(porta, "/localizacoes/leituras"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(corpo)).build();
+    }
+
+    // Cada leitor passa pelas suas motos em sequência, então as leituras de uma moto chegam na ordem em que
+    // foram feitas; leituras concorrentes da mesma moto fariam a mais antiga ser ignorada em vez de aplicada
+    private static int moto(int leitor, int i) {
+        return leitor * MOTOS_POR_LEITOR + i % MOTOS_POR_LEITOR;
+    }
+
+    private Long setor(int leitor, int i) {
+        return massa.setores().get((leitor + i) % Benchmarks.SETORES).getId();
+    }
+
+    private static void relatar(String nome, Rodada rodada) {
+        imprimir("%-28s leitores=%d %7.0f req/s  p50=%6.1f ms  p99=%7.1f ms  erros=%d",
+                nome, LEITORES, rodada.porSegundo(), rodada.p50(), rodada.p99(), rodada.erros());
+    }
+
+    // Terminou quando toda leitura aceita virou aplicada, rejeitada ou falha
+    private void aguardarGravacao() throws InterruptedException {
+        long limite = System.nanoTime() + ESPERA_GRAVACAO.toNanos();
+        while (true) {
+            IngestaoStatusDTO status = ingestaoService.status();
+            if (status.getAplicadas() + status.getRejeitadas() + status.getFalhas() >= status.getRecebidas()) {
+                return;
+            }
+            assertThat(System.nanoTime()).as("leituras pendentes: %d", status.getPendentes()).isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.smartparker.benchmark;
+
+import static br.com.smartparker.benchmark.Benchmarks.imprimir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.smartparker.App;
+import br.com.smartparker.model.IdGeneration;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.repository.MotoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.GenerationType;
+
+// Conta as idas ao banco na inserção de motos em cada combinação de estratégia de ID e hibernate.jdbc.batch_size.
+// Cada combinação sobe um contexto próprio com banco H2 separado. A variante IDENTITY troca o mapeamento de Moto
+// pelo orm.xml de benchmark/moto-identity.xml e transforma a coluna id em identity antes de medir.
+// O resultado verificado é o número de execuções JDBC: só SEQUENCE com batch_size > 1 agrupa os inserts, e num
+// banco em rede cada execução a menos é uma ida e volta a menos. O tempo impresso é só informativo: em H2 em
+// memória a ida ao banco é quase grátis e, no mesmo JVM, a ordem das variantes e o JIT pesam mais que o lote.
+// Rodar com: mvn test -Dtest=InsertBatchingBenchmark -Dbenchmark=true
+@Benchmark
+class InsertBatchingBenchmark {
+
+    private static final int LINHAS = 10_000;
+
+    private static final int RODADAS = 3;
+
+    // Execuções JDBC por variante, impressas no fim
+    private static final Map<String, Long> IDAS = new LinkedHashMap<>();
+
+    @ParameterizedTest(name = "{0}, batch_size={1}")
+    @CsvSource({ "SEQUENCE, 50", "SEQUENCE, 1", "IDENTITY, 50", "IDENTITY, 1" })
+    void idasAoBancoNaInsercaoDeMotos(GenerationType estrategia, int batchSize) {
+        String variante = "%s batch_size=%d".formatted(estrategia, batchSize);
+        ContadorDeExecucoes execucoes = new ContadorDeExecucoes();
+        try (ConfigurableApplicationContext contexto = contexto(estrategia, batchSize, execucoes)) {
+            MotoRepository repository = contexto.getBean(MotoRepository.class);
+            TransactionTemplate transactionTemplate = contexto.getBean(TransactionTemplate.class);
+            if (estrategia == GenerationType.IDENTITY) {
+                contexto.getBean(JdbcTemplate.class).execute("alter table moto alter column id bigint generated by default as identity");
+            }
+
+            Statistics estatisticas = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            long esperadas = execucoesEsperadas(estrategia, batchSize);
+
+            for (int rodada = 1; rodada <= RODADAS; rodada++) {
+                List<Moto> motos = motos(rodada);
+                estatisticas.clear();
+                execucoes.zerar();
+                long inicio = System.nanoTime();
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(motos));
+                long nanos = System.nanoTime() - inicio;
+                long idas = execucoes.total();
+                repository.deleteAllInBatch();
+                imprimir("%-24s rodada %d: %d linhas, %d execucoes JDBC, %d statements preparados, %d ms",
+                        variante, rodada, LINHAS, idas, estatisticas.getPrepareStatementCount(), nanos / 1_000_000);
+
+                assertThat(estatisticas.getEntityInsertCount()).isEqualTo(LINHAS);
+                // A sequence pooled pode precisar de uma chamada a mais quando o bloco não fecha na rodada
+                assertThat(idas).isBetween(esperadas, esperadas + 1);
+                IDAS.put(variante, idas);
+            }
+        }
+    }
+
+    // SEQUENCE: uma chamada à sequence por bloco de IDs, mais um executeBatch por lote ou um insert por linha.
+    // IDENTITY: o ID só existe depois do insert, então o Hibernate não agrupa e faz um insert por linha.
+    private static long execucoesEsperadas(GenerationType estrategia, int batchSize) {
+        if (estrategia == GenerationType.IDENTITY) {
+            return LINHAS;
+        }
+        long sequence = LINHAS / IdGeneration.ALLOCATION_SIZE;
+        long inserts = batchSize > 1 ? (LINHAS + batchSize - 1) / batchSize : LINHAS;
+        return sequence + inserts;
+    }
+
+    @AfterAll
+    static void resumo() {
+        imprimir("Execucoes JDBC por %d linhas:", LINHAS);
+        IDAS.forEach((variante, idas) -> imprimir("  %-24s %6d", variante, idas));
+    }
+
+    // Argumentos de linha de comando, porque properties() do builder perde para o application.properties.
+    // Sem cache de segundo nível: o CacheManager JCache é único no JVM e fechar este contexto o fecharia também
+    // para os contextos dos outros benchmarks, guardados pelo Spring entre as classes.
+    private static ConfigurableApplicationContext contexto(GenerationType estrategia, int batchSize,
+            ContadorDeExecucoes execucoes) {
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:insert-" + estrategia.name().toLowerCase() + "-" + batchSize,
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize));
+        if (estrategia == GenerationType.IDENTITY) {
+            argumentos.add("--spring.jpa.mapping-resources=benchmark/moto-identity.xml");
+        }
+        return new SpringApplicationBuilder(App.class)
+                .web(WebApplicationType.NONE)
+                .initializers(contexto -> contexto.getBeanFactory().addBeanPostProcessor(execucoes))
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    // Placas únicas dentro da rodada; a rodada anterior já foi apagada
+    private static List<Moto> motos(int rodada) {
+        List<Moto> motos = new ArrayList<>(LINHAS);
+        for (int i = 0; i < LINHAS; i++) {
+            motos.add(Benchmarks.moto(rodada * LINHAS + i));
+        }
+        return motos;
+    }
+
+    // Embrulha o DataSource e conta cada execução de PreparedStatement; um executeBatch é uma ida só
+    static class ContadorDeExecucoes implements BeanPostProcessor {
+
+        private final AtomicLong execucoes = new AtomicLong();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nome) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return conexao(super.getConnection());
+                    }
+                };
+            }
+            return bean;
+        }
+
+        long total() {
+            return execucoes.get();
+        }
+
+        void zerar() {
+            execucoes.set(0);
+        }
+
+        private Connection conexao(Connection alvo) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, metodo, args) -> {
+                        Object resultado = invocar(alvo, metodo, args);
+                        return metodo.getName().equals("prepareStatement")
+                                ? comando((PreparedStatement) resultado)
+                                : resultado;
+                    });
+        }
+
+        private PreparedStatement comando(PreparedStatement alvo) {
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, metodo, args) -> {
+                        if (metodo.getName().startsWith("execute")) {
+                            execucoes.incrementAndGet();
+                        }
+                        return invocar(alvo, metodo, args);
+                    });
+        }
+
+        private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.smartparker.benchmark;
+
+import static br.com.smartparker.benchmark.Benchmarks.imprimir;
+import static br.com.smartparker.benchmark.Benchmarks.uri;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import br.com.smartparker.benchmark.Benchmarks.Rodada;
+
+// Carga HTTP concorrente sobre endpoints sem cache (/motos/cursor e /localizacoes/cursor) com o pool padrão (10 conexões).
+// Mostra vazão, latência, erros e o pico de conexões ocupadas / threads esperando o pool; nenhuma requisição pode falhar.
+// Rodar com: mvn test -Dtest=PoolLoadBenchmark -Dbenchmark=true
+// Para comparar com o comportamento antigo: acrescentar -Dspring.jpa.open-in-view=true
+@Benchmark
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+class PoolLoadBenchmark {
+
+    private static final int MOTOS = 2_000;
+
+    private static final int[] CLIENTES = { 16, 64, 200 };
+
+    private static final int REQUISICOES_POR_CLIENTE = 50;
+
+    private static final String[] CAMINHOS = { "/motos/cursor?tamanho=100", "/localizacoes/cursor?tamanho=100" };
+
+    @LocalServerPort
+    private int porta;
+
+    @Value("${spring.jpa.open-in-view}")
+    private boolean openInView;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @BeforeEach
+    void popular() {
+        Benchmarks.popular(contexto, "Carga", MOTOS, true);
+    }
+
+    @AfterEach
+    void limpar() {
+        Benchmarks.limpar(contexto);
+    }
+
+    @Test
+    void carga() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5)).build();
+
+        imprimir("open-in-view=%s pool=%d", openInView, hikari.getMaximumPoolSize());
+
+        // Aquecimento (JIT, caminhos do Tomcat e do Hibernate)
+        rodada(http, pool, 16, 20, false);
+
+        for (int clientes : CLIENTES) {
+            Rodada rodada = rodada(http, pool, clientes, REQUISICOES_POR_CLIENTE, true);
+            assertThat(rodada.erros()).as("erros com %d clientes", clientes).isZero();
+        }
+    }
+
+    private Rodada rodada(HttpClient http, HikariPoolMXBean pool, int clientes, int porCliente, boolean imprimir)
+            throws Exception {
+        AtomicInteger picoAtivas = new AtomicInteger();
+        AtomicInteger picoEsperando = new AtomicInteger();
+        ScheduledExecutorService amostrador = Executors.newSingleThreadScheduledExecutor();
+        amostrador.scheduleAtFixedRate(() -> {
+            picoAtivas.accumulateAndGet(pool.getActiveConnections(), Math::max);
+            picoEsperando.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+        }, 0, 1, TimeUnit.MILLISECONDS);
+
+        Rodada rodada;
+        try {
+            rodada = Benchmarks.rodada(http, clientes, porCliente, (cliente, i) -> HttpRequest
+                    .newBuilder(uri(porta, CAMINHOS[(cliente + i) % CAMINHOS.length]))
+                    .timeout(Duration.ofSeconds(30)).build());
+        } finally {
+            amostrador.shutdownNow();
+        }
+
+        if (imprimir) {
+            imprimir("clientes=%-4d %7.0f req/s  p50=%6.1f ms  p99=%7.1f ms  erros=%-4d conexoes ativas (pico)=%-3d esperando pool (pico)=%d",
+                    clientes, rodada.porSegundo(), rodada.p50(), rodada.p99(), rodada.erros(), picoAtivas.get(),
+                    picoEsperando.get());
+        }
+        return rodada;
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.smartparker.benchmark;
+
+import static br.com.smartparker.benchmark.Benchmarks.imprimir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.smartparker.model.LocalizacaoMotoFilter;
+import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.repository.LocalizacaoMotoRepository;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.specification.LocalizacaoMotoSpecification;
+import br.com.smartparker.specification.MotoSpecification;
+
+// Compara as leituras de /motos e /localizacoes em transação read-only e read-write (latência e bytes alocados)
+// Rodar com: mvn test -Dtest=ReadPathBenchmark -Dbenchmark=true
+@Benchmark
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ReadPathBenchmark {
+
+    private static final int MOTOS = 2_000;
+
+    private static final int AQUECIMENTO = 200;
+
+    private static final int ITERACOES = 1_000;
+
+    private static final Pageable PAGINA = PageRequest.of(0, 100, Sort.by("id"));
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private LocalizacaoMotoRepository localizacaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    @BeforeEach
+    void popular() {
+        Benchmarks.popular(contexto, "Benchmark", MOTOS, true);
+    }
+
+    @AfterEach
+    void limpar() {
+        Benchmarks.limpar(contexto);
+    }
+
+    @Test
+    void leituras() {
+        var motoSpec = MotoSpecification.withFilters(new MotoFilter(null, null, null, null, null));
+        var localizacaoSpec = LocalizacaoMotoSpecification.withFilters(new LocalizacaoMotoFilter(null, null, null, null));
+
+        // A primeira rodada só aquece o JIT para os dois modos; vale a segunda
+        for (int rodada = 0; rodada < 2; rodada++) {
+            imprimir("rodada %d", rodada);
+            for (boolean readOnly : new boolean[] { false, true }) {
+                medir("motos", readOnly, () -> motoRepository.findAll(motoSpec, PAGINA).getContent());
+                medir("localizacoes (entidades)", readOnly, () -> localizacaoRepository.findAll(localizacaoSpec, PAGINA).getContent());
+                medir("localizacoes (projecao)", readOnly, () -> localizacaoRepository.findProjecoes(localizacaoSpec, PAGINA, true).getContent());
+            }
+        }
+    }
+
+    private void medir(String nome, boolean readOnly, Supplier<List<?>> leitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(readOnly);
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            transacao.execute(status -> leitura.get());
+        }
+        // Confere que a leitura medida devolve a página cheia
+        List<?> pagina = transacao.execute(status -> leitura.get());
+        assertThat(pagina).as(nome).hasSize(PAGINA.getPageSize());
+
+        long thread = Thread.currentThread().getId();
+        long bytesAntes = THREADS.getThreadAllocatedBytes(thread);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACOES; i++) {
+            transacao.execute(status -> leitura.get());
+        }
+        long nanos = System.nanoTime() - inicio;
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesAntes;
+
+        imprimir("%-26s readOnly=%-5s %8.1f us/op %10d bytes/op",
+                nome, readOnly, nanos / 1e3 / ITERACOES, bytes / ITERACOES);
+    }
+}
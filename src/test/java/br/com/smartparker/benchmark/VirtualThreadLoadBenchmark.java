@@ -0,0 +1,164 @@
+package br.com.smartparker.benchmark;
+
+import static br.com.smartparker.benchmark.Benchmarks.imprimir;
+import static br.com.smartparker.benchmark.Benchmarks.percentil;
+import static br.com.smartparker.benchmark.Benchmarks.uri;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.ApplicationContext;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import br.com.smartparker.benchmark.Benchmarks.Massa;
+import br.com.smartparker.repository.LocalizacaoMotoRepository;
+
+// 5 mil clientes simultâneos: cada um registra a localização da sua moto (POST /localizacoes) e lê /motos/cursor.
+// Compara o Tomcat com pool de threads (padrão) e o perfil "virtual"; o pico de threads de plataforma mostra a diferença.
+// Nenhuma requisição pode falhar e toda moto tem de terminar com localização.
+// Rodar num JDK 21 com:
+//   mvn test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark=true
+//   mvn test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark=true -Dspring.profiles.active=virtual
+// Para conferir pinning de virtual threads, acrescentar -DargLine=-Djdk.tracePinnedThreads=short
+@Benchmark
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.jpa.show-sql=false")
+class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTES = 5_000;
+
+    private static final int CLIENTES_AQUECIMENTO = 500;
+
+    private static final int LEITURAS_POR_CLIENTE = 4;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @LocalServerPort
+    private int porta;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtual;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private LocalizacaoMotoRepository localizacaoRepository;
+
+    @Autowired
+    private ApplicationContext contexto;
+
+    private Massa massa;
+
+    @BeforeEach
+    void popular() {
+        massa = Benchmarks.popular(contexto, "Carga", CLIENTES + CLIENTES_AQUECIMENTO, false);
+    }
+
+    @AfterEach
+    void limpar() {
+        Benchmarks.limpar(contexto);
+    }
+
+    @Test
+    void carga() throws Exception {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+        // Executor pequeno no cliente para o pico de threads refletir o servidor
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(4))
+                .connectTimeout(Duration.ofSeconds(30)).build();
+
+        imprimir("virtual=%s pool=%d java=%s", virtual, hikari.getMaximumPoolSize(), Runtime.version());
+
+        // As motos do aquecimento ficam depois das medidas, cada moto recebe um único POST
+        int errosAquecimento = rodada(http, hikari.getHikariPoolMXBean(), CLIENTES, CLIENTES_AQUECIMENTO, false);
+        int erros = rodada(http, hikari.getHikariPoolMXBean(), 0, CLIENTES, true);
+
+        assertThat(errosAquecimento + erros).isZero();
+        // Cada POST aceito deixou a sua moto no pátio
+        assertThat(localizacaoRepository.count()).isEqualTo(CLIENTES + CLIENTES_AQUECIMENTO);
+    }
+
+    private int rodada(HttpClient http, HikariPoolMXBean pool, int primeiraMoto, int clientes, boolean imprimir) {
+        AtomicInteger picoEsperando = new AtomicInteger();
+        ScheduledExecutorService amostrador = Executors.newSingleThreadScheduledExecutor();
+        amostrador.scheduleAtFixedRate(
+                () -> picoEsperando.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max),
+                0, 5, TimeUnit.MILLISECONDS);
+        THREADS.resetPeakThreadCount();
+
+        long[] escritas = new long[clientes];
+        long[] leituras = new long[clientes * LEITURAS_POR_CLIENTE];
+        AtomicInteger erros = new AtomicInteger();
+        List<CompletableFuture<Void>> clientesAtivos = new ArrayList<>(clientes);
+
+        long inicio = System.nanoTime();
+        for (int c = 0; c < clientes; c++) {
+            int cliente = c;
+            String corpo = "{\"moto\":{\"id\":%d},\"setor\":{\"id\":%d}}"
+                    .formatted(massa.motos().get(primeiraMoto + c).getId(), massa.setores().get(c % Benchmarks.SETORES).getId());
+            HttpRequest post = HttpRequest.newBuilder(uri(porta, "/localizacoes"))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(120))
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo)).build();
+
+            CompletableFuture<Void> fluxo = enviar(http, post, escritas, cliente, erros);
+            for (int i = 0; i < LEITURAS_POR_CLIENTE; i++) {
+                int indice = cliente * LEITURAS_POR_CLIENTE + i;
+                HttpRequest get = HttpRequest.newBuilder(uri(porta, "/motos/cursor?tamanho=20"))
+                        .timeout(Duration.ofSeconds(120)).build();
+                fluxo = fluxo.thenCompose(v -> enviar(http, get, leituras, indice, erros));
+            }
+            clientesAtivos.add(fluxo);
+        }
+        CompletableFuture.allOf(clientesAtivos.toArray(CompletableFuture[]::new)).join();
+        long nanos = System.nanoTime() - inicio;
+        amostrador.shutdownNow();
+
+        if (imprimir) {
+            Arrays.sort(escritas);
+            Arrays.sort(leituras);
+            imprimir("clientes=%d total=%.1f s  %6.0f req/s  erros=%d  esperando pool (pico)=%d  threads de plataforma (pico)=%d",
+                    clientes, nanos / 1e9, (escritas.length + leituras.length) / (nanos / 1e9),
+                    erros.get(), picoEsperando.get(), THREADS.getPeakThreadCount());
+            imprimir("  POST /localizacoes  p50=%7.1f ms  p99=%7.1f ms", percentil(escritas, 0.50), percentil(escritas, 0.99));
+            imprimir("  GET  /motos/cursor  p50=%7.1f ms  p99=%7.1f ms", percentil(leituras, 0.50), percentil(leituras, 0.99));
+        }
+        return erros.get();
+    }
+
+    private static CompletableFuture<Void> enviar(HttpClient http, HttpRequest request, long[] latencias, int indice,
+            AtomicInteger erros) {
+        long t = System.nanoTime();
+        return http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, erro) -> {
+            latencias[indice] = System.nanoTime() - t;
+            if (erro != null || response.statusCode() >= 300) {
+                erros.incrementAndGet();
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.smartparker.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Entrada compactada vai como está para quem aceita gzip e descompactada para os demais; entrada pequena vai sempre pura
+class CachedJsonHttpMessageConverterTests {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final CachedJsonFactory factory = new CachedJsonFactory(JSON, 256);
+
+    private final CachedJsonHttpMessageConverter converter = new CachedJsonHttpMessageConverter();
+
+    private final Map<String, Object> grande = Map.of("content", List.of("x".repeat(2_000)), "totalElements", 1);
+
+    private final Map<String, Object> pequena = Map.of("content", List.of(), "totalElements", 0);
+
+    @AfterEach
+    void limpar() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void clienteQueAceitaGzipRecebeOsBytesDoCache() throws Exception {
+        CachedJson json = factory.criar(grande);
+        MockHttpOutputMessage resposta = escrever(json, "deflate, gzip");
+
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(resposta.getHeaders().getContentLength()).isEqualTo(json.tamanho());
+        assertThat(resposta.getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(resposta.getBodyAsBytes()).hasSize(json.tamanho());
+        assertThat(descompactar(resposta.getBodyAsBytes())).isEqualTo(JSON.writeValueAsString(grande));
+    }
+
+    @Test
+    void qualidadeMaiorQueZeroContaComoAceito() throws Exception {
+        MockHttpOutputMessage resposta = escrever(factory.criar(grande), "br;q=1.0, GZip;q=0.5");
+
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    void clienteSemGzipRecebeJsonPuro() throws Exception {
+        for (String aceitos : new String[] { null, "identity", "gzip;q=0, identity", "gzip; q=0.0", "deflate" }) {
+            MockHttpOutputMessage resposta = escrever(factory.criar(grande), aceitos);
+
+            assertThat(resposta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).as(aceitos).isNull();
+            assertThat(resposta.getHeaders().getVary()).as(aceitos).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+            assertThat(resposta.getBodyAsString(StandardCharsets.UTF_8)).as(aceitos).isEqualTo(JSON.writeValueAsString(grande));
+        }
+    }
+
+    @Test
+    void foraDeUmaRequisicaoSaiJsonPuro() throws Exception {
+        MockHttpOutputMessage resposta = new MockHttpOutputMessage();
+        converter.write(factory.criar(grande), MediaType.APPLICATION_JSON, resposta);
+
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(resposta.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo(JSON.writeValueAsString(grande));
+    }
+
+    @Test
+    void entradaAbaixoDoMinimoNaoECompactadaNemVaria() throws Exception {
+        CachedJson json = factory.criar(pequena);
+        MockHttpOutputMessage resposta = escrever(json, "gzip");
+
+        assertThat(json.isGzip()).isFalse();
+        assertThat(resposta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(resposta.getHeaders().getVary()).isEmpty();
+        assertThat(resposta.getHeaders().getContentLength()).isEqualTo(json.tamanho());
+        assertThat(resposta.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo(JSON.writeValueAsString(pequena));
+    }
+
+    private MockHttpOutputMessage escrever(CachedJson json, String acceptEncoding) throws IOException {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/motos");
+        if (acceptEncoding != null) {
+            requisicao.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(requisicao));
+        MockHttpOutputMessage resposta = new MockHttpOutputMessage();
+        converter.write(json, MediaType.APPLICATION_JSON, resposta);
+        return resposta;
+    }
+
+    private static String descompactar(byte[] gzip) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
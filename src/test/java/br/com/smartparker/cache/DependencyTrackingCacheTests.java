@@ -0,0 +1,149 @@
+package br.com.smartparker.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.smartparker.dto.LocalizacaoMotoDTO;
+import br.com.smartparker.dto.MotoDTO;
+
+// Corrida entre uma leitura que carrega antes do commit e a invalidação da moto embutida, e a poda dos carimbos
+class DependencyTrackingCacheTests {
+
+    private CacheDependencyIndex dependencias;
+
+    private DependencyTrackingCache cache;
+
+    @BeforeEach
+    void criar() {
+        dependencias = new CacheDependencyIndex();
+        cache = new DependencyTrackingCache(new CaffeineCache("localizacoes", Caffeine.newBuilder().build()), dependencias);
+    }
+
+    @Test
+    void cargaIniciadaAntesDaInvalidacaoNaoFicaNoCache() throws Exception {
+        CountDownLatch carregou = new CountDownLatch(1);
+        CountDownLatch invalidou = new CountDownLatch(1);
+
+        // Leitor: miss, lê a moto ainda com o nome antigo e só termina depois da invalidação
+        CompletableFuture<LocalizacaoMotoDTO> leitor = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            LocalizacaoMotoDTO antiga = localizacao(1L, "Pop 110");
+            carregou.countDown();
+            aguardar(invalidou);
+            return antiga;
+        }));
+
+        carregou.await(5, TimeUnit.SECONDS);
+        dependencias.invalidar(CachedEntity.MOTO, 10L);
+        invalidou.countDown();
+
+        assertThat(leitor.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(cache.get(1L)).isNull();
+        assertThat(dependencias.tamanho()).isZero();
+    }
+
+    @Test
+    void cargaDepoisDaInvalidacaoVoltaAoCache() {
+        dependencias.invalidar(CachedEntity.MOTO, 10L);
+
+        cache.get(1L, () -> localizacao(1L, "Pop 110 2025"));
+
+        assertThat(cache.get(1L)).isNotNull();
+        // E a próxima invalidação ainda encontra a entrada pelo índice
+        dependencias.invalidar(CachedEntity.MOTO, 10L);
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void invalidacaoDeOutraMotoNaoAfetaACarga() {
+        cache.get(1L, () -> {
+            dependencias.invalidar(CachedEntity.MOTO, 99L);
+            return localizacao(1L, "Pop 110");
+        });
+
+        assertThat(cache.get(1L)).isNotNull();
+    }
+
+    @Test
+    void loaderSincronoIniciadoAntesDaInvalidacaoNaoFicaNoCache() {
+        LocalizacaoMotoDTO valor = cache.get(1L, () -> {
+            dependencias.invalidar(CachedEntity.MOTO, 10L);
+            return localizacao(1L, "Pop 110");
+        });
+
+        assertThat(valor).isNotNull();
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void loaderQueLancaNaoAfetaAEscritaSeguinte() {
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("banco fora");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+
+        // A própria escrita invalida a moto antes do @CachePut; o valor dela vale
+        dependencias.invalidar(CachedEntity.MOTO, 10L);
+        cache.put(1L, localizacao(1L, "Pop 110 2025"));
+
+        assertThat(cache.get(1L)).isNotNull();
+        invalidarMotos(1, 128);
+        assertThat(dependencias.carimbos()).isZero();
+    }
+
+    @Test
+    void carimbosSaoPodadosSoDepoisQueACargaMaisAntigaTermina() throws Exception {
+        CountDownLatch carregou = new CountDownLatch(1);
+        CountDownLatch invalidou = new CountDownLatch(1);
+        CompletableFuture<LocalizacaoMotoDTO> leitor = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            carregou.countDown();
+            aguardar(invalidou);
+            return localizacao(1L, "Pop 110");
+        }));
+        carregou.await(5, TimeUnit.SECONDS);
+
+        // Passa por duas podas; o carimbo da moto 10 ainda é necessário para a carga em andamento
+        dependencias.invalidar(CachedEntity.MOTO, 10L);
+        invalidarMotos(100, 200);
+        assertThat(dependencias.carimbos()).isEqualTo(101);
+        invalidou.countDown();
+        leitor.get(5, TimeUnit.SECONDS);
+
+        assertThat(cache.get(1L)).isNull();
+        invalidarMotos(200, 264);
+        assertThat(dependencias.carimbos()).isLessThan(64);
+    }
+
+    private void invalidarMotos(long de, long ate) {
+        for (long id = de; id < ate; id++) {
+            dependencias.invalidar(CachedEntity.MOTO, id);
+        }
+    }
+
+    private static LocalizacaoMotoDTO localizacao(Long id, String nomeMoto) {
+        MotoDTO moto = new MotoDTO();
+        moto.setId(10L);
+        moto.setNome(nomeMoto);
+        LocalizacaoMotoDTO localizacao = new LocalizacaoMotoDTO();
+        localizacao.setId(id);
+        localizacao.setMoto(moto);
+        return localizacao;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
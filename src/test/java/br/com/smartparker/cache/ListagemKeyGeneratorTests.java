@@ -0,0 +1,120 @@
+package br.com.smartparker.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import br.com.smartparker.model.ModoBusca;
+import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.SetorFilter;
+import br.com.smartparker.service.MotoService;
+import br.com.smartparker.service.SetorService;
+
+// Filtros e páginas diferentes nunca dividem a chave; variações que geram a mesma consulta dividem
+class ListagemKeyGeneratorTests {
+
+    private static final Method LISTAR_MOTOS = metodo(MotoService.class, "listar", MotoFilter.class, Pageable.class,
+            boolean.class);
+
+    private static final Method LISTAR_SETORES = metodo(SetorService.class, "listar", SetorFilter.class, Pageable.class);
+
+    private static final Pageable PAGINA = PageRequest.of(0, 20, Sort.by("nome"));
+
+    private final CacheVersions versoes = new CacheVersions();
+
+    private final ListagemKeyGenerator gerador = new ListagemKeyGenerator(versoes);
+
+    @Test
+    void filtrosDiferentesGeramChavesDiferentes() {
+        Object base = motos(new MotoFilter("pop", null, null, null, null), PAGINA, true);
+
+        assertThat(base)
+                .isNotEqualTo(motos(new MotoFilter("biz", null, null, null, null), PAGINA, true))
+                .isNotEqualTo(motos(new MotoFilter(null, "pop", null, null, null), PAGINA, true))
+                .isNotEqualTo(motos(new MotoFilter("pop", null, null, null, ModoBusca.PREFIXO), PAGINA, true))
+                .isNotEqualTo(motos(new MotoFilter("pop", null, "ABC", null, null), PAGINA, true))
+                .isNotEqualTo(motos(new MotoFilter("pop", null, null, null, null), PAGINA, false));
+    }
+
+    @Test
+    void paginasDiferentesGeramChavesDiferentes() {
+        MotoFilter filtro = new MotoFilter(null, null, null, "Disponível", ModoBusca.EXATO);
+        Object base = motos(filtro, PAGINA, true);
+
+        assertThat(base)
+                .isNotEqualTo(motos(filtro, PageRequest.of(1, 20, Sort.by("nome")), true))
+                .isNotEqualTo(motos(filtro, PageRequest.of(0, 50, Sort.by("nome")), true))
+                .isNotEqualTo(motos(filtro, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "nome")), true))
+                .isNotEqualTo(motos(filtro, PageRequest.of(0, 20, Sort.by("placa")), true))
+                .isNotEqualTo(motos(filtro, PageRequest.of(0, 20, Sort.by(Sort.Order.asc("nome").ignoreCase())), true))
+                .isNotEqualTo(motos(filtro, PageRequest.of(0, 20, Sort.by("nome", "id")), true))
+                .isNotEqualTo(motos(filtro, Pageable.unpaged(), true));
+    }
+
+    @Test
+    void variacoesQueGeramAMesmaConsultaDividemAChave() {
+        Object base = motos(new MotoFilter("Pop", null, "abc", null, null), PAGINA, true);
+
+        // Texto sem modo é CONTEM sem diferenciar maiúsculas; a placa é comparada em maiúsculas
+        assertThat(motos(new MotoFilter("POP", null, "ABC", null, ModoBusca.CONTEM), PageRequest.of(0, 20, Sort.by("nome")),
+                true)).isEqualTo(base).hasSameHashCodeAs(base);
+        // No modo EXATO o status é comparado como veio
+        assertThat(motos(new MotoFilter(null, null, null, "Disponível", ModoBusca.EXATO), PAGINA, true))
+                .isNotEqualTo(motos(new MotoFilter(null, null, null, "disponível", ModoBusca.EXATO), PAGINA, true));
+    }
+
+    @Test
+    void entidadesDoFiltroEntramSoPeloId() {
+        Patio centro = Patio.builder().id(1L).nome("Centro").build();
+        Patio mesmoIdOutroNome = Patio.builder().id(1L).nome("Centro renomeado").localizacao("Rua B").build();
+        Patio outro = Patio.builder().id(2L).nome("Centro").build();
+
+        Object base = setores(new SetorFilter(null, 1, null, centro, null));
+
+        assertThat(setores(new SetorFilter(null, 1, null, mesmoIdOutroNome, null))).isEqualTo(base);
+        assertThat(setores(new SetorFilter(null, 1, null, outro, null))).isNotEqualTo(base);
+        assertThat(setores(new SetorFilter(null, 2, null, centro, null))).isNotEqualTo(base);
+    }
+
+    @Test
+    void escritaNoCacheMudaAChaveDasPaginas() {
+        MotoFilter filtro = new MotoFilter("pop", null, null, null, null);
+        Object antes = motos(filtro, PAGINA, true);
+        Object setoresAntes = setores(new SetorFilter(null, null, null, null, null));
+
+        versoes.invalidarPaginas("motos");
+
+        assertThat(motos(filtro, PAGINA, true)).isNotEqualTo(antes);
+        assertThat(setores(new SetorFilter(null, null, null, null, null))).isEqualTo(setoresAntes);
+    }
+
+    @Test
+    void metodoSemCacheableERecusado() {
+        Method semCacheable = metodo(Object.class, "toString");
+
+        assertThatThrownBy(() -> gerador.generate(null, semCacheable)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private Object motos(MotoFilter filtro, Pageable pageable, boolean contar) {
+        return gerador.generate(null, LISTAR_MOTOS, filtro, pageable, contar);
+    }
+
+    private Object setores(SetorFilter filtro) {
+        return gerador.generate(null, LISTAR_SETORES, filtro, PAGINA);
+    }
+
+    private static Method metodo(Class<?> tipo, String nome, Class<?>... parametros) {
+        try {
+            return tipo.getMethod(nome, parametros);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
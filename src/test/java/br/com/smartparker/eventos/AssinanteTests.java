@@ -0,0 +1,140 @@
+package br.com.smartparker.eventos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import br.com.smartparker.eventos.Assinante.Mensagem;
+
+// Assinante lento é desligado: sai da lista, recebe só o "ressincronizar" e a conexão é concluída
+class AssinanteTests {
+
+    private static final int CAPACIDADE = 2;
+
+    private final EmitterGravado emitter = new EmitterGravado();
+
+    // Executor que só roda o envio quando o teste manda, como uma rede lenta
+    private final Queue<Runnable> envios = new ArrayDeque<>();
+
+    private final List<Assinante> encerrados = new ArrayList<>();
+
+    private final Assinante assinante = new Assinante(emitter, 1L, CAPACIDADE, envios::add, encerrados::add);
+
+    @Test
+    void assinanteQueAcompanhaRecebeTudoNaOrdem() {
+        assertThat(assinante.enfileirar(mensagem(1))).isTrue();
+        assertThat(assinante.enfileirar(mensagem(2))).isTrue();
+        enviar();
+        assertThat(assinante.enfileirar(mensagem(3))).isTrue();
+        enviar();
+
+        assertThat(emitter.eventos).containsExactly("movimentacoes:1", "movimentacoes:2", "movimentacoes:3");
+        assertThat(emitter.concluido).isFalse();
+        assertThat(encerrados).isEmpty();
+    }
+
+    @Test
+    void filaCheiaDesligaComRessincronizar() {
+        assertThat(assinante.enfileirar(mensagem(1))).isTrue();
+        assertThat(assinante.enfileirar(mensagem(2))).isTrue();
+
+        // O envio ainda não rodou e a fila já está cheia
+        assertThat(assinante.enfileirar(mensagem(3))).isFalse();
+        assertThat(encerrados).containsExactly(assinante);
+
+        enviar();
+
+        // O que estava na fila é descartado; o painel recarrega pelo GET
+        assertThat(emitter.eventos).containsExactly("ressincronizar:{}");
+        assertThat(emitter.concluido).isTrue();
+    }
+
+    @Test
+    void assinanteDesligadoIgnoraNovasMensagens() {
+        assinante.enfileirar(mensagem(1));
+        assinante.enfileirar(mensagem(2));
+        assinante.enfileirar(mensagem(3));
+        enviar();
+
+        assertThat(assinante.enfileirar(mensagem(4))).isTrue();
+        assinante.sinalizar();
+        enviar();
+
+        assertThat(emitter.eventos).containsExactly("ressincronizar:{}");
+        assertThat(encerrados).hasSize(1);
+    }
+
+    @Test
+    void heartbeatNaoDesligaComFilaCheia() {
+        assinante.enfileirar(mensagem(1));
+        assinante.enfileirar(mensagem(2));
+        assinante.sinalizar();
+        enviar();
+
+        assertThat(emitter.eventos).containsExactly("movimentacoes:1", "movimentacoes:2");
+        assertThat(encerrados).isEmpty();
+    }
+
+    @Test
+    void executorSaturadoConcluiSemRessincronizar() {
+        Executor saturado = tarefa -> {
+            throw new RejectedExecutionException();
+        };
+        Assinante rejeitado = new Assinante(emitter, null, CAPACIDADE, saturado, encerrados::add);
+
+        rejeitado.enfileirar(mensagem(1));
+
+        assertThat(emitter.eventos).isEmpty();
+        assertThat(emitter.concluido).isTrue();
+        assertThat(encerrados).containsExactly(rejeitado);
+    }
+
+    private void enviar() {
+        Runnable envio;
+        while ((envio = envios.poll()) != null) {
+            envio.run();
+        }
+    }
+
+    private static Mensagem mensagem(int numero) {
+        return new Mensagem("movimentacoes", String.valueOf(numero));
+    }
+
+    // Guarda "nome:dados" de cada evento no lugar de escrever na resposta
+    private static final class EmitterGravado extends SseEmitter {
+
+        private final List<String> eventos = new ArrayList<>();
+
+        private boolean concluido;
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            String texto = evento.build().stream()
+                    .map(parte -> String.valueOf(parte.getData()))
+                    .collect(Collectors.joining());
+            if (texto.startsWith(":")) {
+                // Comentário SSE (heartbeat)
+                eventos.add("ping");
+                return;
+            }
+            String nome = texto.substring("event:".length(), texto.indexOf('\n'));
+            String dados = texto.substring(texto.indexOf("data:") + "data:".length()).strip();
+            eventos.add(nome + ":" + dados);
+        }
+
+        @Override
+        public void complete() {
+            concluido = true;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.smartparker.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+
+// Placa e QR code acompanham a moto quando ela muda de setor, é renomeada ou troca de localização
+class LocalizacaoIndexTests {
+
+    private static final Setor A = setor(1L, "A1");
+
+    private static final Setor B = setor(2L, "B1");
+
+    private final LocalizacaoIndex indice = new LocalizacaoIndex();
+
+    @BeforeEach
+    void carregar() {
+        indice.carregar(List.of(
+                localizacao(10L, moto(1L, "ABC1D23", "QR1"), A),
+                localizacao(11L, moto(2L, "XYZ9W87", "QR2"), A)));
+    }
+
+    @Test
+    void motoQueMudaDeSetorEEncontradaPelaPlacaEQrNoSetorNovo() {
+        indice.registrar(localizacao(12L, moto(1L, "ABC1D23", "QR1"), B));
+
+        assertThat(indice.porPlaca("ABC1D23")).get().extracting(PosicaoMoto::setorId, PosicaoMoto::localizacaoId)
+                .containsExactly(2L, 12L);
+        assertThat(indice.porQrCode("QR1")).get().extracting(PosicaoMoto::setorId).isEqualTo(2L);
+        assertThat(indice.tamanho()).isEqualTo(2);
+
+        // A localização antiga da moto saiu do índice
+        indice.remover(10L);
+        assertThat(indice.porMoto(1L)).isPresent();
+    }
+
+    @Test
+    void motoRenomeadaSaiDaPlacaEDoQrAntigos() {
+        indice.atualizarMoto(moto(1L, "DEF2G34", "QR1-NOVO"));
+
+        assertThat(indice.porPlaca("ABC1D23")).isEmpty();
+        assertThat(indice.porQrCode("QR1")).isEmpty();
+        assertThat(indice.porPlaca("DEF2G34")).get().extracting(PosicaoMoto::motoId).isEqualTo(1L);
+        assertThat(indice.porQrCode("QR1-NOVO")).get().extracting(PosicaoMoto::localizacaoId).isEqualTo(10L);
+    }
+
+    @Test
+    void localizacaoQueTrocaDeMotoDesindexaAMotoAnterior() {
+        indice.registrar(localizacao(10L, moto(3L, "JKL3M45", "QR3"), A));
+
+        assertThat(indice.porPlaca("ABC1D23")).isEmpty();
+        assertThat(indice.porMoto(1L)).isEmpty();
+        assertThat(indice.porPlaca("JKL3M45")).get().extracting(PosicaoMoto::localizacaoId).isEqualTo(10L);
+        assertThat(indice.porPlaca("XYZ9W87")).isPresent();
+    }
+
+    @Test
+    void placaPassadaParaOutraMotoNaoEApagadaPelaAnterior() {
+        // A moto 1 libera a placa e a moto 2 passa a usá-la; remover a moto 1 depois não pode levar a placa junto
+        indice.atualizarMoto(moto(1L, "OLD0A00", "QR1"));
+        indice.atualizarMoto(moto(2L, "ABC1D23", "QR2"));
+        indice.removerMoto(1L);
+
+        assertThat(indice.porPlaca("ABC1D23")).get().extracting(PosicaoMoto::motoId).isEqualTo(2L);
+        assertThat(indice.porPlaca("OLD0A00")).isEmpty();
+        assertThat(indice.porQrCode("QR1")).isEmpty();
+    }
+
+    @Test
+    void setorAtualizadoChegaAsPosicoesDasMotosDele() {
+        indice.atualizarSetor(setor(1L, "A1 renomeado"));
+
+        assertThat(indice.porPlaca("ABC1D23")).get().extracting(PosicaoMoto::setorNome).isEqualTo("A1 renomeado");
+        assertThat(indice.porQrCode("QR2")).get().extracting(PosicaoMoto::setorNome).isEqualTo("A1 renomeado");
+    }
+
+    private static Moto moto(Long id, String placa, String qrCode) {
+        return Moto.builder().id(id).nome("Pop " + id).fabricante("Honda").cilindrada(110)
+                .placa(placa).status("Disponível").qrCode(qrCode).build();
+    }
+
+    private static Setor setor(Long id, String nome) {
+        return Setor.builder().id(id).nome(nome).fileira(1).vaga(id.intValue()).patio(Patio.builder().id(1L).build())
+                .build();
+    }
+
+    private static LocalizacaoMoto localizacao(Long id, Moto moto, Setor setor) {
+        return LocalizacaoMoto.builder().id(id).moto(moto).setor(setor).build();
+    }
+}
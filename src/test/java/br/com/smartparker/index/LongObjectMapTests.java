@@ -0,0 +1,132 @@
+package br.com.smartparker.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// Sondagem linear com remoção por deslocamento: colisões, volta ao início da tabela, redimensionamento e chaves especiais
+class LongObjectMapTests {
+
+    // new LongObjectMap<>(1) aloca 16 posições e redimensiona acima de 9 chaves
+    private static final int MASCARA_INICIAL = 15;
+
+    @Test
+    void chaveZeroENegativasSaoChavesComoOutras() {
+        LongObjectMap<String> mapa = new LongObjectMap<>();
+        long[] chaves = { 0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, -42L };
+        for (long chave : chaves) {
+            mapa.put(chave, "v" + chave);
+        }
+
+        for (long chave : chaves) {
+            assertThat(mapa.get(chave)).isEqualTo("v" + chave);
+        }
+        assertThat(mapa.get(1L)).isNull();
+
+        assertThat(mapa.remove(0L)).isEqualTo("v0");
+        assertThat(mapa.get(0L)).isNull();
+        assertThat(mapa.get(-1L)).isEqualTo("v-1");
+        assertThat(mapa.size()).isEqualTo(4);
+    }
+
+    @Test
+    void putSubstituiERejeitaNulo() {
+        LongObjectMap<String> mapa = new LongObjectMap<>();
+
+        assertThat(mapa.put(7L, "a")).isNull();
+        assertThat(mapa.put(7L, "b")).isEqualTo("a");
+        assertThat(mapa.size()).isEqualTo(1);
+        assertThatThrownBy(() -> mapa.put(8L, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void remocaoNoMeioDeUmaCadeiaQueDaAVoltaMantemAsOutrasAlcancaveis() {
+        LongObjectMap<String> mapa = new LongObjectMap<>(1);
+        // Quatro chaves que caem na última posição ocupam 15, 0, 1 e 2; a que cai na 0 vai para a 3
+        List<Long> naUltima = chavesNaPosicao(MASCARA_INICIAL, 4);
+        long naPrimeira = chavesNaPosicao(0, 1).get(0);
+        naUltima.forEach(chave -> mapa.put(chave, "u" + chave));
+        mapa.put(naPrimeira, "p");
+
+        assertThat(mapa.remove(naUltima.get(0))).isEqualTo("u" + naUltima.get(0));
+        assertThat(mapa.remove(naUltima.get(2))).isEqualTo("u" + naUltima.get(2));
+
+        assertThat(mapa.get(naUltima.get(0))).isNull();
+        assertThat(mapa.get(naUltima.get(2))).isNull();
+        assertThat(mapa.get(naUltima.get(1))).isEqualTo("u" + naUltima.get(1));
+        assertThat(mapa.get(naUltima.get(3))).isEqualTo("u" + naUltima.get(3));
+        assertThat(mapa.get(naPrimeira)).isEqualTo("p");
+        assertThat(mapa.size()).isEqualTo(3);
+
+        // Reinserir depois das remoções não duplica a chave
+        mapa.put(naUltima.get(3), "de novo");
+        assertThat(mapa.size()).isEqualTo(3);
+        assertThat(mapa.remove(naUltima.get(3))).isEqualTo("de novo");
+        assertThat(mapa.get(naUltima.get(3))).isNull();
+    }
+
+    @Test
+    void redimensionarMantemTodasAsChaves() {
+        LongObjectMap<Long> mapa = new LongObjectMap<>(1);
+        for (long i = -5_000; i < 5_000; i++) {
+            mapa.put(i * 31, i);
+        }
+
+        assertThat(mapa.size()).isEqualTo(10_000);
+        for (long i = -5_000; i < 5_000; i++) {
+            assertThat(mapa.get(i * 31)).isEqualTo(i);
+        }
+        for (long i = -5_000; i < 5_000; i += 2) {
+            mapa.remove(i * 31);
+        }
+        assertThat(mapa.size()).isEqualTo(5_000);
+        assertThat(mapa.get(-5_000L * 31)).isNull();
+        assertThat(mapa.get(-4_999L * 31)).isEqualTo(-4_999L);
+
+        List<Long> valores = new ArrayList<>();
+        mapa.forEachValue(valores::add);
+        assertThat(valores).hasSize(5_000).allMatch(v -> v % 2 != 0);
+    }
+
+    // Poucas chaves e muitas remoções: cadeias longas, colisões e deslocamentos o tempo todo
+    @Test
+    void mesmoComportamentoDeUmHashMapEmOperacoesAleatorias() {
+        LongObjectMap<Integer> mapa = new LongObjectMap<>(1);
+        Map<Long, Integer> referencia = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int operacao = 0; operacao < 200_000; operacao++) {
+            long chave = random.nextInt(64) - 32;
+            switch (random.nextInt(3)) {
+                case 0 -> assertThat(mapa.put(chave, operacao)).isEqualTo(referencia.put(chave, operacao));
+                case 1 -> assertThat(mapa.remove(chave)).isEqualTo(referencia.remove(chave));
+                default -> assertThat(mapa.get(chave)).isEqualTo(referencia.get(chave));
+            }
+            assertThat(mapa.size()).isEqualTo(referencia.size());
+        }
+        for (long chave = -32; chave < 32; chave++) {
+            assertThat(mapa.get(chave)).isEqualTo(referencia.get(chave));
+        }
+
+        mapa.clear();
+        assertThat(mapa.size()).isZero();
+        assertThat(mapa.get(0L)).isNull();
+    }
+
+    private static List<Long> chavesNaPosicao(int posicao, int quantidade) {
+        List<Long> chaves = new ArrayList<>();
+        for (long chave = 1; chaves.size() < quantidade; chave++) {
+            if (LongObjectMap.indice(chave, MASCARA_INICIAL) == posicao) {
+                chaves.add(chave);
+            }
+        }
+        return chaves;
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.smartparker.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.smartparker.index.OcupacaoIndex.ResumoFileira;
+import br.com.smartparker.index.OcupacaoIndex.VagaLivre;
+import br.com.smartparker.model.LocalizacaoMoto;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+
+// Registro, movimentação e remoção de setores e motos, e a busca de vaga livre pelos bitsets
+class OcupacaoIndexTests {
+
+    private final OcupacaoIndex indice = new OcupacaoIndex();
+
+    @Test
+    void primeiraVagaLivrePulaFileirasCheiasEVagasOcupadas() {
+        List<Setor> setores = new ArrayList<>();
+        // Fileira 1 com vagas 1..3, fileira 2 com vagas 1..130 (mais de uma palavra do bitset)
+        for (int vaga = 1; vaga <= 3; vaga++) {
+            setores.add(setor(vaga, 1L, 1, vaga));
+        }
+        for (int vaga = 1; vaga <= 130; vaga++) {
+            setores.add(setor(100 + vaga, 1L, 2, vaga));
+        }
+        List<LocalizacaoMoto> localizacoes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            localizacoes.add(localizacao(i + 1, setores.get(i)));
+        }
+        for (int vaga = 1; vaga <= 127; vaga++) {
+            localizacoes.add(localizacao(1000 + vaga, setores.get(2 + vaga)));
+        }
+        indice.carregar(setores, localizacoes);
+
+        assertThat(indice.primeiraVagaLivre(1L)).contains(new VagaLivre(228L, 2, 128));
+        assertThat(indice.vagasLivres(1L)).extracting(VagaLivre::vaga).containsExactly(128, 129, 130);
+        assertThat(indice.resumo(1L).orElseThrow().fileiras()).containsExactly(
+                new ResumoFileira(1, 3, 3), new ResumoFileira(2, 130, 127));
+    }
+
+    @Test
+    void motoQueMudaDeSetorLiberaAVagaAnterior() {
+        Setor a = setor(1L, 1L, 1, 1);
+        Setor b = setor(2L, 1L, 1, 2);
+        indice.carregar(List.of(a, b), List.of(localizacao(10L, a)));
+        assertThat(indice.primeiraVagaLivre(1L)).contains(new VagaLivre(2L, 1, 2));
+
+        indice.registrarLocalizacao(localizacao(10L, b));
+        assertThat(indice.primeiraVagaLivre(1L)).contains(new VagaLivre(1L, 1, 1));
+        assertThat(indice.resumo(1L).orElseThrow().ocupadas()).isEqualTo(1);
+
+        indice.removerLocalizacao(10L);
+        assertThat(indice.vagasLivres(1L)).hasSize(2);
+        assertThat(indice.resumo(1L).orElseThrow().ocupadas()).isZero();
+    }
+
+    @Test
+    void vagaCompartilhadaSoFicaLivreQuandoNenhumSetorTemMoto() {
+        Setor a = setor(1L, 1L, 1, 1);
+        Setor b = setor(2L, 1L, 1, 1);
+        indice.carregar(List.of(a, b), List.of(localizacao(10L, a), localizacao(11L, b)));
+
+        indice.removerLocalizacao(10L);
+        assertThat(indice.primeiraVagaLivre(1L)).isEmpty();
+
+        indice.removerSetor(2L);
+        assertThat(indice.primeiraVagaLivre(1L)).contains(new VagaLivre(1L, 1, 1));
+        assertThat(indice.resumo(1L).orElseThrow().totalVagas()).isEqualTo(1);
+    }
+
+    @Test
+    void setorQueMudaDePatioLevaAsMotosEOPatioVazioSaiDoMapa() {
+        Setor a = setor(1L, 1L, 1, 1);
+        indice.carregar(List.of(a), List.of(localizacao(10L, a)));
+
+        indice.registrarSetor(setor(1L, 2L, 3, 4));
+
+        assertThat(indice.resumo(1L)).isEmpty();
+        assertThat(indice.resumo(2L).orElseThrow().ocupadas()).isEqualTo(1);
+        assertThat(indice.primeiraVagaLivre(2L)).isEmpty();
+
+        indice.removerLocalizacao(10L);
+        assertThat(indice.primeiraVagaLivre(2L)).contains(new VagaLivre(1L, 3, 4));
+
+        indice.removerSetor(1L);
+        assertThat(indice.resumo(2L)).isEmpty();
+        assertThat(indice.vagasLivres(2L)).isEmpty();
+    }
+
+    @Test
+    void setorQueMudaDeVagaNoMesmoPatioContinuaNoMapa() {
+        Setor a = setor(1L, 1L, 1, 1);
+        indice.carregar(List.of(a), List.of());
+
+        indice.registrarSetor(setor(1L, 1L, 2, 5));
+
+        assertThat(indice.primeiraVagaLivre(1L)).contains(new VagaLivre(1L, 2, 5));
+        assertThat(indice.resumo(1L).orElseThrow().fileiras()).containsExactly(new ResumoFileira(2, 1, 0));
+    }
+
+    private static Setor setor(long id, long patioId, int fileira, int vaga) {
+        return Setor.builder().id(id).fileira(fileira).vaga(vaga).patio(Patio.builder().id(patioId).build()).build();
+    }
+
+    private static LocalizacaoMoto localizacao(long id, Setor setor) {
+        return LocalizacaoMoto.builder().id(id).setor(setor).build();
+    }
+}
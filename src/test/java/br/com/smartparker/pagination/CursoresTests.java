@@ -0,0 +1,79 @@
+package br.com.smartparker.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// O cursor volta com os mesmos valores e tipos; qualquer cursor adulterado vira 400, nunca 500
+class CursoresTests {
+
+    private static final Map<String, Class<?>> CHAVES = chaves();
+
+    @Test
+    void cursorVoltaComOsMesmosValoresETipos() {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        valores.put("dataAtualizada", LocalDateTime.of(2025, 3, 1, 8, 30, 15));
+        valores.put("nome", "Pop 110 / ção");
+        valores.put("id", 9_000_000_000L);
+
+        String cursor = Cursores.codificar(ScrollPosition.forward(valores));
+        KeysetScrollPosition posicao = Cursores.decodificar(cursor, CHAVES);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(posicao.getKeys()).containsExactlyInAnyOrderEntriesOf(valores);
+        assertThat(posicao.getKeys().get("id")).isInstanceOf(Long.class);
+        assertThat(posicao.getKeys().get("dataAtualizada")).isInstanceOf(LocalDateTime.class);
+        assertThat(posicao.scrollsForward()).isTrue();
+    }
+
+    @Test
+    void cursorForaDoBase64ERecusado() {
+        assertInvalido("não é base64!");
+    }
+
+    @Test
+    void cursorQueNaoEJsonERecusado() {
+        assertInvalido(base64("nome=Pop;id=1"));
+    }
+
+    @Test
+    void cursorComChaveAMaisOuAMenosERecusado() {
+        assertInvalido(base64("{\"dataAtualizada\":\"2025-03-01T08:30:15\",\"nome\":\"Pop\",\"id\":1,\"admin\":true}"));
+        assertInvalido(base64("{\"nome\":\"Pop\",\"id\":1}"));
+    }
+
+    @Test
+    void cursorComValorDeOutroTipoERecusado() {
+        assertInvalido(base64("{\"dataAtualizada\":\"2025-03-01T08:30:15\",\"nome\":\"Pop\",\"id\":\"1 or 1=1\"}"));
+        assertInvalido(base64("{\"dataAtualizada\":\"ontem\",\"nome\":\"Pop\",\"id\":1}"));
+    }
+
+    private static void assertInvalido(String cursor) {
+        assertThatThrownBy(() -> Cursores.decodificar(cursor, CHAVES))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private static String base64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Class<?>> chaves() {
+        Map<String, Class<?>> chaves = new LinkedHashMap<>();
+        chaves.put("dataAtualizada", LocalDateTime.class);
+        chaves.put("nome", String.class);
+        chaves.put("id", Long.class);
+        return chaves;
+    }
+}
@@ -0,0 +1,290 @@
+package br.com.smartparker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import br.com.smartparker.model.LocalizacaoMotoFilter;
+import br.com.smartparker.model.ModoBusca;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.model.MovimentacaoMotoFilter;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.model.SetorFilter;
+import br.com.smartparker.model.UsuarioFilter;
+import br.com.smartparker.pagination.Cursores;
+import br.com.smartparker.service.LocalizacaoMotoService;
+import br.com.smartparker.service.MotoService;
+import br.com.smartparker.specification.BuscaTextual;
+import br.com.smartparker.specification.LocalizacaoMotoSpecification;
+import br.com.smartparker.specification.MotoSpecification;
+import br.com.smartparker.specification.MovimentacaoMotoSpecification;
+import br.com.smartparker.specification.SetorSpecification;
+import br.com.smartparker.specification.UsuarioSpecification;
+
+// Confere pelo EXPLAIN do H2 que as consultas geradas pelas Specifications, pelos cursores e pelas listagens
+// caem nos índices da migration. O SQL e os parâmetros são os que o Hibernate mandou ao JDBC, não escritos à mão
+// aqui: o H2 só escolhe o índice de um LIKE por prefixo depois de ver o valor do parâmetro.
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class IndexUsageTests {
+
+    private static final PageRequest PAGINA_POR_NOME = PageRequest.of(0, 5, Sort.by("nome"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlCapturado sqlCapturado;
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private LocalizacaoMotoRepository localizacaoRepository;
+
+    @Autowired
+    private SetorRepository setorRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private MovimentacaoMotoRepository movimentacaoRepository;
+
+    @Autowired
+    private MotoService motoService;
+
+    @Autowired
+    private LocalizacaoMotoService localizacaoService;
+
+    @BeforeEach
+    void limpar() {
+        sqlCapturado.limpar();
+    }
+
+    @Test
+    void filtroDeMotoPorStatusUsaIndice() {
+        Cursores.fatia(motoRepository, MotoSpecification.withFilters(
+                new MotoFilter(null, null, null, "Disponível", ModoBusca.EXATO)), PAGINA_POR_NOME);
+
+        assertThat(explain("moto")).contains("IDX_MOTO_STATUS");
+    }
+
+    // Texto livre compara com lower(), que índice B-tree não atende: a busca usa os candidatos do índice em memória
+    @Test
+    void buscaDeMotoPorFabricanteComCandidatosUsaChavePrimaria() {
+        BuscaTextual candidatos = (campo, termo) -> Optional.of(Set.of(1L, 2L, 3L));
+        Cursores.fatia(motoRepository, MotoSpecification.withFilters(
+                new MotoFilter(null, "hon", null, null, ModoBusca.CONTEM), candidatos), PAGINA_POR_NOME);
+
+        assertThat(explain("moto")).contains("PRIMARY_KEY");
+    }
+
+    @Test
+    void buscaDeMotoPorPrefixoDePlacaUsaIndice() {
+        Cursores.fatia(motoRepository, MotoSpecification.withFilters(
+                new MotoFilter(null, null, "abc", null, ModoBusca.PREFIXO)), PAGINA_POR_NOME);
+
+        assertThat(explain("moto")).contains("UK_MOTO_PLACA");
+    }
+
+    @Test
+    void cursorDeMotoUsaIndiceDaOrdenacao() {
+        motoService.listarPorCursor(new MotoFilter(null, null, null, null, null), cursor("{\"nome\":\"Pop\",\"id\":10}"), 20);
+
+        assertThat(explain("moto")).contains("IDX_MOTO_NOME_ID");
+    }
+
+    @Test
+    void filtroDeLocalizacaoPorSetorEDataUsaIndiceComposto() {
+        Setor setor = Setor.builder().id(1L).build();
+        localizacaoRepository.findProjecoes(LocalizacaoMotoSpecification.withFilters(new LocalizacaoMotoFilter(
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 2, 0, 0), null, setor)),
+                PageRequest.of(0, 5, Sort.by("dataAtualizada")), false);
+
+        assertThat(explain("localizacao_moto")).contains("IDX_LOCALIZACAO_SETOR_DATA");
+    }
+
+    @Test
+    void filtroDeLocalizacaoPorDataUsaIndice() {
+        localizacaoRepository.findProjecoes(LocalizacaoMotoSpecification.withFilters(new LocalizacaoMotoFilter(
+                LocalDateTime.of(2025, 1, 1, 0, 0), null, null, null)),
+                PageRequest.of(0, 5, Sort.by("dataAtualizada")), false);
+
+        assertThat(explain("localizacao_moto")).contains("IDX_LOCALIZACAO_DATA_ATUALIZADA");
+    }
+
+    @Test
+    void cursorDeLocalizacaoUsaIndiceDaOrdenacao() {
+        localizacaoService.listarPorCursor(new LocalizacaoMotoFilter(null, null, null, null),
+                cursor("{\"dataAtualizada\":\"2025-01-01T00:00:00\",\"id\":10}"), 20);
+
+        assertThat(explain("localizacao_moto")).contains("IDX_LOCALIZACAO_DATA_ATUALIZADA");
+    }
+
+    @Test
+    void filtroDeSetorPorPatioFileiraEVagaUsaIndiceComposto() {
+        Patio patio = Patio.builder().id(1L).build();
+        setorRepository.findAll(SetorSpecification.withFilters(new SetorFilter(null, 2, 3, patio, null)), PAGINA_POR_NOME);
+
+        assertThat(explain("setor")).contains("IDX_SETOR_PATIO_FILEIRA_VAGA");
+    }
+
+    @Test
+    void filtroDeSetorPorFileiraEVagaUsaIndice() {
+        setorRepository.findAll(SetorSpecification.withFilters(new SetorFilter(null, 2, 3, null, null)), PAGINA_POR_NOME);
+
+        assertThat(explain("setor")).contains("IDX_SETOR_FILEIRA_VAGA");
+    }
+
+    @Test
+    void filtroDeUsuarioPorMotoUsaIndice() {
+        Moto moto = Moto.builder().id(1L).build();
+        usuarioRepository.findAll(UsuarioSpecification.withFilters(new UsuarioFilter(null, null, null, moto, null)),
+                PAGINA_POR_NOME);
+
+        assertThat(explain("usuario")).contains("UK_USUARIO_MOTO");
+    }
+
+    @Test
+    void buscaDeUsuarioPorPrefixoDeCpfUsaIndice() {
+        usuarioRepository.findAll(UsuarioSpecification.withFilters(new UsuarioFilter(null, null, "123", null, ModoBusca.PREFIXO)),
+                PAGINA_POR_NOME);
+
+        assertThat(explain("usuario")).contains("UK_USUARIO_CPF");
+    }
+
+    @Test
+    void historicoPorPeriodoEMotoUsaIndice() {
+        movimentacaoRepository.findAll(MovimentacaoMotoSpecification.withFilters(new MovimentacaoMotoFilter(
+                LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 23, 59), 1L, null, null, null)),
+                PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "dataMovimentacao")));
+
+        assertThat(explain("movimentacao_moto")).contains("IDX_MOVIMENTACAO_DIA_MOTO");
+    }
+
+    // EXPLAIN do último SELECT de dados (não o count) na tabela, com os mesmos parâmetros
+    private String explain(String tabela) {
+        Consulta consulta = sqlCapturado.consultas().stream()
+                .filter(c -> c.sql().startsWith("select ") && !c.sql().startsWith("select count")
+                        && c.sql().contains(" from " + tabela + " "))
+                .reduce((primeira, segunda) -> segunda)
+                .orElseThrow(() -> new AssertionError("Nenhum SELECT em " + tabela + ": " + sqlCapturado.consultas()));
+        return jdbcTemplate.query(con -> {
+            PreparedStatement explain = con.prepareStatement("explain " + consulta.sql());
+            for (Map.Entry<Integer, Object> parametro : consulta.parametros().entrySet()) {
+                explain.setObject(parametro.getKey(), parametro.getValue());
+            }
+            return explain;
+        }, rs -> rs.next() ? rs.getString(1) : "").toUpperCase();
+    }
+
+    private static String cursor(String chaves) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(chaves.getBytes(StandardCharsets.UTF_8));
+    }
+
+    record Consulta(String sql, Map<Integer, Object> parametros) {
+    }
+
+    // Embrulha o DataSource e guarda cada executeQuery com os parâmetros ligados
+    static class SqlCapturado implements BeanPostProcessor {
+
+        private final List<Consulta> consultas = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nome) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return conexao(super.getConnection());
+                    }
+
+                    @Override
+                    public Connection getConnection(String usuario, String senha) throws SQLException {
+                        return conexao(super.getConnection(usuario, senha));
+                    }
+                };
+            }
+            return bean;
+        }
+
+        List<Consulta> consultas() {
+            return consultas;
+        }
+
+        void limpar() {
+            consultas.clear();
+        }
+
+        private Connection conexao(Connection alvo) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, metodo, args) -> {
+                        Object resultado = invocar(alvo, metodo, args);
+                        return metodo.getName().equals("prepareStatement")
+                                ? comando((PreparedStatement) resultado, (String) args[0])
+                                : resultado;
+                    });
+        }
+
+        private PreparedStatement comando(PreparedStatement alvo, String sql) {
+            Map<Integer, Object> parametros = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, (proxy, metodo, args) -> {
+                        if (metodo.getName().startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer indice) {
+                            parametros.put(indice, metodo.getName().equals("setNull") ? null : args[1]);
+                        } else if (metodo.getName().equals("executeQuery")) {
+                            consultas.add(new Consulta(sql, new TreeMap<>(parametros)));
+                        }
+                        return invocar(alvo, metodo, args);
+                    });
+        }
+
+        private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(alvo, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class Captura {
+
+        @Bean
+        static SqlCapturado sqlCapturado() {
+            return new SqlCapturado();
+        }
+    }
+}
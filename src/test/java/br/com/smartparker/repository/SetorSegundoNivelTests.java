@@ -0,0 +1,93 @@
+package br.com.smartparker.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+import jakarta.persistence.EntityManagerFactory;
+
+// O caminho de escrita (findById, lote de leituras) tem que sair do cache de segundo nível, sem ir ao banco
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class SetorSegundoNivelTests {
+
+    @Autowired
+    private SetorRepository setorRepository;
+
+    @Autowired
+    private PatioRepository patioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    private List<Long> setores;
+
+    @BeforeEach
+    void criar() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        setores = transactionTemplate.execute(status -> {
+            Patio patio = patioRepository.save(Patio.builder().nome("Patio Cache").localizacao("Rua do Cache, 1").build());
+            return List.of(
+                    setorRepository.save(Setor.builder().nome("A1").fileira(1).vaga(1).patio(patio).build()).getId(),
+                    setorRepository.save(Setor.builder().nome("A2").fileira(1).vaga(2).patio(patio).build()).getId());
+        });
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void limpar() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Long patio = setorRepository.findById(setores.get(0)).orElseThrow().getPatio().getId();
+            setorRepository.deleteAllById(setores);
+            patioRepository.deleteById(patio);
+        });
+    }
+
+    @Test
+    void findByIdESeuPatioSaemDoSegundoNivel() {
+        transactionTemplate.executeWithoutResult(status -> setorRepository.findById(setores.get(0)).orElseThrow()
+                .getPatio().getNome());
+        estatisticas.clear();
+
+        String patio = transactionTemplate.execute(status -> setorRepository.findById(setores.get(0)).orElseThrow()
+                .getPatio().getNome());
+
+        assertThat(patio).isEqualTo("Patio Cache");
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+        assertThat(estatisticas.getDomainDataRegionStatistics("setor").getHitCount()).isEqualTo(1);
+        assertThat(estatisticas.getDomainDataRegionStatistics("patio").getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void carregarPorIdsBuscaNoBancoSoOQueFaltaNoSegundoNivel() {
+        transactionTemplate.executeWithoutResult(status -> setorRepository.findById(setores.get(0)));
+        estatisticas.clear();
+
+        List<Setor> carregados = transactionTemplate.execute(status -> setorRepository.carregarPorIds(
+                List.of(setores.get(0), setores.get(1), -1L)));
+
+        assertThat(carregados).extracting(Setor::getId).containsExactlyInAnyOrderElementsOf(setores);
+        assertThat(estatisticas.getSecondLevelCacheHitCount()).isEqualTo(1);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+
+        estatisticas.clear();
+        transactionTemplate.executeWithoutResult(status -> setorRepository.carregarPorIds(setores));
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+        assertThat(estatisticas.getSecondLevelCacheHitCount()).isEqualTo(2);
+    }
+}
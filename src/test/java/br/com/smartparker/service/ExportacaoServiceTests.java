@@ -0,0 +1,109 @@
+package br.com.smartparker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.smartparker.model.FormatoExportacao;
+import br.com.smartparker.model.Usuario;
+import br.com.smartparker.model.Usuario_;
+import br.com.smartparker.repository.UsuarioRepository;
+import br.com.smartparker.service.ExportacaoService.Coluna;
+
+// Formato das linhas em NDJSON e CSV, com escape de separadores, aspas, quebras de linha e fórmulas de planilha
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ExportacaoServiceTests {
+
+    private static final List<String> NOMES = List.of(
+            "Silva, Ana",
+            "Bruno \"Bira\" Souza",
+            "Carla\nLinha dois",
+            "=HYPERLINK(\"http://x\")",
+            "+5511999999999",
+            "-2+3",
+            "@SUM(A1:A2)",
+            "Zeca Comum");
+
+    private static final List<Coluna<Usuario>> COLUNAS = List.of(
+            new Coluna<>("nome", Usuario::getNome),
+            new Coluna<>("cpf", Usuario::getCpf),
+            new Coluna<>("ajuste", usuario -> -1),
+            new Coluna<>("moto", usuario -> null));
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void criar() {
+        ids = NOMES.stream().map(nome -> usuarioRepository.save(Usuario.builder()
+                .nome(nome)
+                .email("exportacao" + NOMES.indexOf(nome) + "@exemplo.com")
+                .cpf("900000000%02d".formatted(NOMES.indexOf(nome)))
+                .build()).getId()).toList();
+    }
+
+    @AfterEach
+    void limpar() {
+        usuarioRepository.deleteAllById(ids);
+    }
+
+    @Test
+    void ndjsonTemUmObjetoPorLinhaComAsColunasNaOrdem() throws Exception {
+        String[] linhas = exportar(FormatoExportacao.NDJSON).split("\n", -1);
+
+        // Cada registro termina em '\n', então o último pedaço é vazio
+        assertThat(linhas).hasSize(NOMES.size() + 1);
+        assertThat(linhas[NOMES.size()]).isEmpty();
+        for (int i = 0; i < NOMES.size(); i++) {
+            JsonNode objeto = objectMapper.readTree(linhas[i]);
+            assertThat(objeto.fieldNames()).toIterable().containsExactly("nome", "cpf", "ajuste", "moto");
+            assertThat(objeto.get("nome").asText()).isEqualTo(NOMES.get(i));
+            assertThat(objeto.get("ajuste").asInt()).isEqualTo(-1);
+            assertThat(objeto.get("moto").isNull()).isTrue();
+        }
+    }
+
+    @Test
+    void csvEscapaSeparadoresAspasQuebrasEFormulas() throws Exception {
+        String csv = exportar(FormatoExportacao.CSV);
+
+        assertThat(csv).isEqualTo(String.join("\r\n",
+                "nome,cpf,ajuste,moto",
+                "\"Silva, Ana\",90000000000,-1,",
+                "\"Bruno \"\"Bira\"\" Souza\",90000000001,-1,",
+                "\"Carla\nLinha dois\",90000000002,-1,",
+                "\"'=HYPERLINK(\"\"http://x\"\")\",90000000003,-1,",
+                "'+5511999999999,90000000004,-1,",
+                "'-2+3,90000000005,-1,",
+                "'@SUM(A1:A2),90000000006,-1,",
+                "Zeca Comum,90000000007,-1,",
+                ""));
+    }
+
+    private String exportar(FormatoExportacao formato) throws Exception {
+        Specification<Usuario> spec = (root, query, cb) -> root.get(Usuario_.id).in(ids);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoService.exportar(Usuario.class, spec, COLUNAS, formato).writeTo(saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.smartparker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import br.com.smartparker.eventos.MovimentacaoEventos;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.MovimentacaoMoto;
+import br.com.smartparker.model.Patio;
+import br.com.smartparker.model.Setor;
+import br.com.smartparker.repository.MovimentacaoMotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Fila cheia não grava na thread de quem escreve; lote que falha volta antes do resto da fila
+class HistoricoMovimentacaoWriterTests {
+
+    private static final Setor SETOR = Setor.builder().id(1L).patio(Patio.builder().id(1L).build()).build();
+
+    private final MovimentacaoMotoRepository repository = mock(MovimentacaoMotoRepository.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    // motoId de cada saveAll que chegou ao banco, na ordem
+    private final List<List<Long>> gravados = new ArrayList<>();
+
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void criar() {
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocacao -> new SimpleTransactionStatus());
+    }
+
+    @Test
+    void filaCheiaDescartaSemGravarNaThreadDeQuemEscreve() {
+        HistoricoMovimentacaoWriter writer = writer(1, 10);
+
+        writer.saida(moto(1L), SETOR);
+        writer.saida(moto(2L), SETOR);
+
+        verify(repository, never()).saveAll(anyIterable());
+        assertThat(writer.pendentes()).isEqualTo(1);
+        assertThat(registry.counter("smartparker.historico.descartadas").count()).isEqualTo(1);
+    }
+
+    @Test
+    void loteQueFalhaFicaRetidoEVoltaNaFrenteDaFila() {
+        AtomicInteger falhasRestantes = new AtomicInteger(3);
+        doAnswer(invocacao -> {
+            if (falhasRestantes.getAndDecrement() > 0) {
+                throw new IllegalStateException("banco fora");
+            }
+            List<Long> motos = new ArrayList<>();
+            invocacao.<Iterable<MovimentacaoMoto>>getArgument(0).forEach(m -> motos.add(m.getMotoId()));
+            gravados.add(motos);
+            return invocacao.getArgument(0);
+        }).when(repository).saveAll(anyIterable());
+        HistoricoMovimentacaoWriter writer = writer(10, 2);
+
+        writer.saida(moto(1L), SETOR);
+        writer.saida(moto(2L), SETOR);
+        writer.descarregar();
+        assertThat(gravados).isEmpty();
+        assertThat(writer.pendentes()).isEqualTo(2);
+
+        writer.saida(moto(3L), SETOR);
+        writer.descarregar();
+
+        assertThat(gravados).containsExactly(List.of(1L, 2L), List.of(3L));
+        assertThat(writer.pendentes()).isZero();
+    }
+
+    private HistoricoMovimentacaoWriter writer(int capacidadeFila, int tamanhoLote) {
+        return new HistoricoMovimentacaoWriter(repository, mock(MovimentacaoEventos.class), transactionManager, registry,
+                capacidadeFila, tamanhoLote, Duration.ofMillis(10));
+    }
+
+    private static Moto moto(Long id) {
+        return Moto.builder().id(id).build();
+    }
+}
@@ -0,0 +1,175 @@
+package br.com.smartparker.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import br.com.smartparker.dto.IngestaoRecebidaDTO;
+import br.com.smartparker.dto.LocalizacaoLoteItemDTO;
+import br.com.smartparker.dto.LocalizacaoLoteResultadoDTO;
+import br.com.smartparker.model.LeituraRejeitada;
+import br.com.smartparker.repository.LeituraRejeitadaRepository;
+import br.com.smartparker.service.LocalizacaoMotoLoteService.LoteGravado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Ordem por moto, leituras recusadas com fila cheia e o caminho de falha do banco, sem Spring nem banco
+class IngestaoLeiturasServiceTests {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    private final LocalizacaoMotoLoteService loteService = mock(LocalizacaoMotoLoteService.class);
+
+    private final LeituraRejeitadaRepository rejeitadaRepository = mock(LeituraRejeitadaRepository.class);
+
+    // Leituras na ordem em que cada gravar teve sucesso
+    private final List<LocalizacaoLoteItemDTO> gravadas = Collections.synchronizedList(new ArrayList<>());
+
+    private IngestaoLeiturasService service;
+
+    @AfterEach
+    void encerrar() throws InterruptedException {
+        if (service != null) {
+            service.encerrar();
+        }
+    }
+
+    @Test
+    void leiturasDeCadaMotoSaoGravadasNaOrdemDeChegada() {
+        when(loteService.gravar(anyList())).thenAnswer(invocacao -> gravado(invocacao.getArgument(0)));
+        service = service(2, 100, 3);
+        service.iniciar();
+
+        for (int i = 0; i < 40; i++) {
+            service.receber(List.of(leitura(i % 4 + 1L, i)));
+        }
+        aguardarPendentesZerarem();
+
+        for (long moto = 1; moto <= 4; moto++) {
+            long id = moto;
+            List<LocalDateTime> horarios = gravadas.stream().filter(l -> l.getMotoId() == id)
+                    .map(LocalizacaoLoteItemDTO::getLidaEm).toList();
+            assertThat(horarios).hasSize(10).isSorted();
+        }
+    }
+
+    @Test
+    void filaCheiaDevolveAsLeiturasRecusadasComOHorario() throws Exception {
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(loteService.gravar(anyList())).thenAnswer(invocacao -> {
+            gravando.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return gravado(invocacao.getArgument(0));
+        });
+        service = service(1, 1, 10);
+        service.iniciar();
+        service.receber(List.of(leitura(1L, 0)));
+        assertThat(gravando.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Consumidor preso no primeiro lote e a fila tem uma vaga
+        IngestaoRecebidaDTO recebida = service.receber(List.of(leitura(2L, 1), leitura(1L, 2), leitura(1L, 3)));
+        liberar.countDown();
+
+        assertThat(recebida.getAceitas()).isEqualTo(1);
+        assertThat(recebida.getRecusadas()).extracting(LocalizacaoLoteItemDTO::getMotoId, LocalizacaoLoteItemDTO::getLidaEm)
+                .containsExactly(
+                        Tuple.tuple(1L, INICIO.plusMinutes(2)),
+                        Tuple.tuple(1L, INICIO.plusMinutes(3)));
+    }
+
+    @Test
+    void leituraQueOBancoRecusaEIsoladaEOLoteSegue() {
+        when(loteService.gravar(anyList())).thenAnswer(invocacao -> {
+            List<LocalizacaoLoteItemDTO> lote = invocacao.getArgument(0);
+            if (lote.stream().anyMatch(l -> l.getMotoId() == 99L)) {
+                throw new IllegalStateException("violação de constraint");
+            }
+            return gravado(lote);
+        });
+        service = service(1, 100, 10);
+        service.receber(List.of(leitura(1L, 0), leitura(2L, 1), leitura(99L, 2), leitura(3L, 3), leitura(4L, 4)));
+        service.iniciar();
+        aguardarPendentesZerarem();
+
+        assertThat(gravadas).extracting(LocalizacaoLoteItemDTO::getMotoId).containsExactly(1L, 2L, 3L, 4L);
+        ArgumentCaptor<LeituraRejeitada> rejeitada = ArgumentCaptor.forClass(LeituraRejeitada.class);
+        verify(rejeitadaRepository).save(rejeitada.capture());
+        assertThat(rejeitada.getValue().getMotoId()).isEqualTo(99L);
+        assertThat(rejeitada.getValue().getLidaEm()).isEqualTo(INICIO.plusMinutes(2));
+        assertThat(service.status().getFalhas()).isEqualTo(1);
+        assertThat(service.status().getAplicadas()).isEqualTo(4);
+    }
+
+    @Test
+    void comOBancoForaALeituraEsperaEGravaQuandoEleVolta() throws Exception {
+        AtomicBoolean fora = new AtomicBoolean(true);
+        AtomicInteger guardadas = new AtomicInteger();
+        when(loteService.gravar(anyList())).thenAnswer(invocacao -> {
+            if (fora.get()) {
+                throw new IllegalStateException("conexão recusada");
+            }
+            return gravado(invocacao.getArgument(0));
+        });
+        when(rejeitadaRepository.save(any())).thenAnswer(invocacao -> {
+            if (fora.get()) {
+                throw new IllegalStateException("conexão recusada");
+            }
+            guardadas.incrementAndGet();
+            return invocacao.getArgument(0);
+        });
+        service = service(1, 100, 10);
+        service.receber(List.of(leitura(1L, 0), leitura(2L, 1)));
+        service.iniciar();
+
+        Thread.sleep(500);
+        assertThat(service.pendentes()).isEqualTo(2);
+        fora.set(false);
+        aguardarPendentesZerarem();
+
+        assertThat(gravadas).extracting(LocalizacaoLoteItemDTO::getMotoId).containsExactly(1L, 2L);
+        assertThat(guardadas).hasValue(0);
+        assertThat(service.status().getFalhas()).isZero();
+    }
+
+    private IngestaoLeiturasService service(int particoes, int capacidade, int tamanhoLote) {
+        return new IngestaoLeiturasService(loteService, rejeitadaRepository, new SimpleMeterRegistry(),
+                particoes, capacidade, tamanhoLote, Duration.ofMillis(50));
+    }
+
+    private LoteGravado gravado(List<LocalizacaoLoteItemDTO> lote) {
+        gravadas.addAll(lote);
+        return new LoteGravado(lote.stream()
+                .map(l -> new LocalizacaoLoteResultadoDTO(l.getMotoId(), l.getSetorId(), true, l.getMotoId(), null))
+                .toList(), List.of());
+    }
+
+    private void aguardarPendentesZerarem() {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (service.pendentes() > 0 && System.nanoTime() < limite) {
+            Thread.onSpinWait();
+        }
+        assertThat(service.pendentes()).isZero();
+    }
+
+    private static LocalizacaoLoteItemDTO leitura(Long motoId, int minuto) {
+        return new LocalizacaoLoteItemDTO(motoId, 1L, INICIO.plusMinutes(minuto));
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.smartparker.specification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.smartparker.model.ModoBusca;
+import br.com.smartparker.model.Moto;
+import br.com.smartparker.model.MotoFilter;
+import br.com.smartparker.model.Usuario;
+import br.com.smartparker.model.UsuarioFilter;
+import br.com.smartparker.repository.MotoRepository;
+import br.com.smartparker.repository.UsuarioRepository;
+
+// Sem modo, placa, status, email e CPF seguem "contém" sem diferenciar maiúsculas; EXATO e PREFIXO são opcionais
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+class FiltrosEstruturadosTests {
+
+    private static final BuscaTextual SEM_INDICE = (campo, termo) -> Optional.empty();
+
+    @Autowired
+    private MotoRepository motoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @BeforeEach
+    void criar() {
+        motoRepository.save(Moto.builder().nome("Pop 110").fabricante("Honda").cilindrada(110)
+                .placa("ABC1D23").status("Disponível").qrCode("QR1").build());
+        usuarioRepository.save(Usuario.builder().nome("Ana Silva").email("Ana.Silva@Exemplo.com")
+                .cpf("12345678901").build());
+    }
+
+    @Test
+    void semModoPlacaEStatusContinuamContemSemDiferenciarMaiusculas() {
+        assertThat(motos(new MotoFilter(null, null, "1d2", null, null))).isEqualTo(1);
+        assertThat(motos(new MotoFilter(null, null, null, "disp", null))).isEqualTo(1);
+    }
+
+    @Test
+    void prefixoEExatoSoQuandoPedidos() {
+        assertThat(motos(new MotoFilter(null, null, "abc", null, ModoBusca.PREFIXO))).isEqualTo(1);
+        assertThat(motos(new MotoFilter(null, null, "1d2", null, ModoBusca.PREFIXO))).isZero();
+        assertThat(motos(new MotoFilter(null, null, null, "disponível", ModoBusca.EXATO))).isZero();
+    }
+
+    @Test
+    void emailNaoDiferenciaMaiusculasEmNenhumModo() {
+        assertThat(usuarios(new UsuarioFilter(null, "EXEMPLO.COM", null, null, null))).isEqualTo(1);
+        assertThat(usuarios(new UsuarioFilter(null, "ANA.", null, null, ModoBusca.PREFIXO))).isEqualTo(1);
+        assertThat(usuarios(new UsuarioFilter(null, "ana.silva@exemplo.com", null, null, ModoBusca.EXATO))).isEqualTo(1);
+        assertThat(usuarios(new UsuarioFilter(null, null, "456", null, null))).isEqualTo(1);
+    }
+
+    private long motos(MotoFilter filtro) {
+        return motoRepository.count(MotoSpecification.withFilters(filtro, SEM_INDICE));
+    }
+
+    private long usuarios(UsuarioFilter filtro) {
+        return usuarioRepository.count(UsuarioSpecification.withFilters(filtro, SEM_INDICE));
+    }
+}